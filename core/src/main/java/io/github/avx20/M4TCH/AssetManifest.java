@@ -0,0 +1,115 @@
+package io.github.avx20.M4TCH;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import java.util.Arrays;
+
+// Index of every packaged asset, generated at build time by :core:generateAssetManifest.
+// Maps a logical name (e.g. "game_bg") to where the file lives in the package, so nothing
+// at runtime has to probe the filesystem to find an asset.
+public class AssetManifest {
+    public static final String FILE = "assets.manifest";
+
+    // One file an asset can be loaded from: the full-size one, or a copy scaled down at build time
+    public static class Variant {
+        public final float scale;
+        public final String path;
+        public final long size;
+        public final String[] pages; // Images an atlas or bitmap font loads, relative to its own file
+
+        Variant(float scale, String path, long size, JsonValue pages) {
+            this.scale = scale;
+            this.path = path;
+            this.size = size;
+            this.pages = pages != null ? pages.asStringArray() : new String[0];
+        }
+    }
+
+    public static class Entry {
+        public final String name;
+        public final String type; // texture, atlas, sound, music, font, bitmapfont or particle
+        public final boolean present; // false for optional assets that were not in the build
+        public final String path;
+        public final long size;
+        public final String format;
+        public final String crc32;
+        public final String[] pages; // Images an atlas or bitmap font loads, relative to its own file
+        public final String pixelFormat; // Pixmap.Format name chosen at build time for textures and atlases, or null
+        private final Variant[] variants; // Smaller scales first, the full-size file last
+
+        Entry(String name, JsonValue value) {
+            this.name = name;
+            this.type = value.getString("type");
+            this.present = value.getBoolean("present");
+            this.path = value.getString("path", null);
+            this.size = value.getLong("size", 0);
+            this.format = value.getString("format", null);
+            this.crc32 = value.getString("crc32", null);
+            this.pages = value.has("pages") ? value.get("pages").asStringArray() : new String[0];
+            this.pixelFormat = value.getString("pixelFormat", null);
+
+            JsonValue scaled = value.get("variants");
+            variants = new Variant[(scaled != null ? scaled.size : 0) + 1];
+            int count = 0;
+            for (JsonValue variant = scaled != null ? scaled.child : null; variant != null; variant = variant.next) {
+                variants[count++] = new Variant(variant.getFloat("scale"), variant.getString("path"),
+                    variant.getLong("size", 0), variant.get("pages"));
+            }
+            variants[count] = new Variant(1f, path, size, value.get("pages"));
+            Arrays.sort(variants, (a, b) -> Float.compare(a.scale, b.scale));
+        }
+
+        // The smallest file of at least the given scale; the full-size one when nothing smaller is big enough
+        public Variant variant(float scale) {
+            for (Variant variant : variants) {
+                if (variant.scale >= scale) {
+                    return variant;
+                }
+            }
+            return variants[variants.length - 1];
+        }
+    }
+
+    private final ObjectMap<String, Entry> entries = new ObjectMap<>();
+
+    public static AssetManifest load(FileHandle file) {
+        AssetManifest manifest = new AssetManifest();
+        JsonValue root = new JsonReader().parse(file);
+        for (JsonValue value = root.child; value != null; value = value.next) {
+            manifest.entries.put(value.name, new Entry(value.name, value));
+        }
+        return manifest;
+    }
+
+    public Entry get(String name) {
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            throw new GdxRuntimeException("Asset '" + name + "' is not declared in " + FILE);
+        }
+        return entry;
+    }
+
+    public boolean contains(String name) {
+        return entries.containsKey(name);
+    }
+
+    public boolean isPresent(String name) {
+        return get(name).present;
+    }
+
+    public String path(String name) {
+        Entry entry = get(name);
+        if (!entry.present) {
+            throw new GdxRuntimeException("Optional asset '" + name + "' was not packaged in this build");
+        }
+        return entry.path;
+    }
+
+    public ObjectMap.Values<Entry> entries() {
+        return entries.values();
+    }
+}
@@ -0,0 +1,274 @@
+package io.github.avx20.M4TCH;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.BitmapFontLoader;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.assets.loaders.ParticleEffectLoader;
+import com.badlogic.gdx.assets.loaders.TextureLoader;
+import com.badlogic.gdx.assets.loaders.resolvers.ClasspathFileHandleResolver;
+import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.ParticleEffect;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.TimeUtils;
+
+// The one place screens get textures, sounds and music from (fonts come through FontService, which sits on top). Assets are addressed by the
+// logical names in assets.manifest and loaded through an AssetManager owned by M4TCH.
+// LoadingScreen queues them; screens acquire handles when they are built and release them in dispose(),
+// and the ResourceCache decides what stays resident in between.
+public class Assets implements Disposable {
+    // Logical names, declared in the assetCatalog of core/build.gradle
+    public static final String TILES_ATLAS = "tiles";
+    public static final String UI_ATLAS = "ui";
+    public static final String GAME_BG = "game_bg";
+    public static final String HOMESCREEN_BG = "homescreen_bg";
+    public static final String GAME_OVER_BG = "game_over_bg";
+    public static final String LEADERBOARD_FRAME = "leaderboard_frame";
+    public static final String LOADING_IMAGE_1 = "loading_image_1";
+    public static final String LOADING_IMAGE_2 = "loading_image_2";
+    public static final String LOADING_BAR = "loading_bar";
+    public static final String LOADING_FRAME = "loading_frame";
+    public static final String MATCH_SUCCESS = "match_success";
+    public static final String MATCH_FAIL = "match_fail";
+    public static final String BGM = "bgm";
+    public static final String FONT_SDF = "font_sdf";
+    // Typefaces FontService rasterizes missing glyphs from; font_cjk is optional
+    public static final String FONT = "font";
+    public static final String FONT_CJK = "font_cjk";
+    // Particle effects; their sprites are regions of the tiles atlas
+    public static final String FX_MATCH = "fx_match";
+    public static final String FX_STAR = "fx_star";
+    public static final String FX_COMBO = "fx_combo";
+
+    // What LoadingScreen itself draws; these are loaded before the screen is shown
+    private static final String[] LOADING_SCREEN = {
+        GAME_BG, LOADING_IMAGE_1, LOADING_IMAGE_2, LOADING_BAR, LOADING_FRAME
+    };
+
+    private final AssetManifest manifest;
+    private final AssetManager manager;
+    private final ResourceCache cache;
+    private final StreamingTextureLoader textureLoader;
+    private final FileHandleResolver resolver;
+    private final ObjectMap<String, AssetDescriptor<?>> descriptors = new ObjectMap<>();
+    // The file each asset is loaded from, see AssetManifest.Entry.variant
+    private final ObjectMap<String, AssetManifest.Variant> variants = new ObjectMap<>();
+
+    // textureBudgetBytes caps what the ResourceCache keeps resident, uploadBudgetBytes what update() uploads per
+    // frame. Textures and atlases load from their smallest variant of at least textureScale, see textureScaleFor.
+    public Assets(long textureBudgetBytes, long uploadBudgetBytes, float textureScale) {
+        // Assets are packaged as classpath resources, so lookups go straight to the jar without probing the filesystem
+        resolver = new ClasspathFileHandleResolver();
+        manifest = AssetManifest.load(resolver.resolve(AssetManifest.FILE));
+
+        manager = new AssetManager(resolver);
+        textureLoader = new StreamingTextureLoader(resolver, uploadBudgetBytes);
+        manager.setLoader(Texture.class, textureLoader);
+        cache = new ResourceCache(manager, textureBudgetBytes);
+
+        for (AssetManifest.Entry entry : manifest.entries()) {
+            if (!entry.present || entry.type.equals("font")) {
+                continue; // Missing optional assets are skipped; typefaces are read directly, see file()
+            }
+            variants.put(entry.name, entry.variant(textureScale));
+        }
+        for (AssetManifest.Entry entry : manifest.entries()) {
+            if (variants.containsKey(entry.name)) {
+                descriptors.put(entry.name, descriptorOf(entry));
+            }
+        }
+        Gdx.app.log("Assets", "Loading textures at scale " + variants.get(TILES_ATLAS).scale
+            + " for a texture scale of " + textureScale);
+    }
+
+    // The texture scale that maps the 1920x1080 world one texel to one pixel in a back buffer of this size
+    public static float textureScaleFor(int backBufferWidth, int backBufferHeight) {
+        return Math.min(backBufferWidth / RenderContext.WORLD_WIDTH, backBufferHeight / RenderContext.WORLD_HEIGHT);
+    }
+
+    private AssetDescriptor<?> descriptorOf(AssetManifest.Entry entry) {
+        String path = variants.get(entry.name).path;
+        switch (entry.type) {
+            case "texture":
+                TextureLoader.TextureParameter textureParameter = new TextureLoader.TextureParameter();
+                if (entry.pixelFormat != null) {
+                    textureParameter.format = Pixmap.Format.valueOf(entry.pixelFormat);
+                }
+                // Drawn scaled to the viewport, and a smaller variant is drawn larger than its size
+                textureParameter.minFilter = Texture.TextureFilter.Linear;
+                textureParameter.magFilter = Texture.TextureFilter.Linear;
+                return new AssetDescriptor<>(path, Texture.class, textureParameter);
+            case "atlas": return new AssetDescriptor<>(path, TextureAtlas.class); // Page formats are in the .atlas
+            case "sound": return new AssetDescriptor<>(path, Sound.class);
+            case "music": return new AssetDescriptor<>(path, Music.class);
+            case "bitmapfont":
+                BitmapFontLoader.BitmapFontParameter parameter = new BitmapFontLoader.BitmapFontParameter();
+                // Distance fields are sampled between texels, so they need linear filtering
+                parameter.minFilter = Texture.TextureFilter.Linear;
+                parameter.magFilter = Texture.TextureFilter.Linear;
+                return new AssetDescriptor<>(path, BitmapFont.class, parameter);
+            case "particle":
+                ParticleEffectLoader.ParticleEffectParameter effectParameter = new ParticleEffectLoader.ParticleEffectParameter();
+                // Image paths in the effect name regions of the tiles atlas, so particles share the tiles' page
+                effectParameter.atlasFile = variants.get(TILES_ATLAS).path;
+                return new AssetDescriptor<>(path, ParticleEffect.class, effectParameter);
+            default: throw new GdxRuntimeException("Unknown asset type '" + entry.type + "' for " + entry.name);
+        }
+    }
+
+    public void queueLoadingScreen() {
+        for (String name : LOADING_SCREEN) {
+            queue(name);
+        }
+    }
+
+    // Queues everything not already loaded, including anything the cache evicted since the last pass
+    public void queueGame() {
+        for (String name : descriptors.keys()) {
+            queue(name);
+        }
+    }
+
+    private void queue(String name) {
+        AssetDescriptor<?> descriptor = descriptors.get(name);
+        if (descriptor == null || manager.contains(descriptor.fileName)) {
+            return;
+        }
+        manager.load(descriptor);
+
+        // Start decoding its images right away instead of when the AssetManager reaches it
+        FileHandle file = resolver.resolve(descriptor.fileName);
+        if (descriptor.type == Texture.class) {
+            textureLoader.prefetch(file);
+        }
+        for (String page : variants.get(name).pages) {
+            FileHandle pageFile = file.parent().child(page);
+            if (!manager.contains(pageFile.path())) {
+                textureLoader.prefetch(pageFile);
+            }
+        }
+    }
+
+    // Loads for at most the given time and at most the upload budget; returns true once everything queued is loaded
+    public boolean update(int millis) {
+        long endTime = TimeUtils.millis() + millis;
+        boolean done;
+        textureLoader.beginFrame();
+        do {
+            done = manager.update();
+        } while (!done && textureLoader.hasFrameBudget() && TimeUtils.millis() < endTime);
+        textureLoader.endFrame();
+
+        if (done) {
+            loaded();
+        }
+        return done;
+    }
+
+    public void finishLoading() {
+        manager.finishLoading();
+        loaded();
+    }
+
+    private void loaded() {
+        textureLoader.discardPrefetched();
+        cache.trackLoaded(descriptors.values());
+    }
+
+    public StreamingTextureLoader getTextureLoader() {
+        return textureLoader;
+    }
+
+    public float getProgress() {
+        return manager.getProgress();
+    }
+
+    public int getLoadedCount() {
+        return manager.getLoadedAssets();
+    }
+
+    // Raw file for assets that are read directly instead of through the AssetManager, like typefaces.
+    // Returns null for optional assets that were not packaged with this build.
+    public FileHandle file(String name) {
+        return manifest.isPresent(name) ? resolver.resolve(manifest.path(name)) : null;
+    }
+
+    // Scale of the file an asset was loaded from: 1, or less for a smaller variant. Anything sized from texel
+    // counts, like a region's width, has to be divided by it.
+    public float getTextureScale(String name) {
+        AssetManifest.Variant variant = variants.get(name);
+        return variant != null ? variant.scale : 1f;
+    }
+
+    public AssetManifest getManifest() {
+        return manifest;
+    }
+
+    public ResourceCache getCache() {
+        return cache;
+    }
+
+    // Every getter below acquires a reference that must be given back with release(name).
+    // Returns null only for optional assets that were not packaged with this build.
+    @SuppressWarnings("unchecked")
+    private <T> T acquire(String name, Class<T> type) {
+        AssetDescriptor<?> descriptor = descriptors.get(name);
+        if (descriptor == null) {
+            if (!manifest.isPresent(name)) {
+                return null;
+            }
+            throw new GdxRuntimeException("Asset '" + name + "' is not a " + type.getSimpleName());
+        }
+        if (descriptor.type != type) {
+            throw new GdxRuntimeException("Asset '" + name + "' is a " + descriptor.type.getSimpleName()
+                + ", not a " + type.getSimpleName());
+        }
+        return cache.acquire((AssetDescriptor<T>) descriptor);
+    }
+
+    public void release(String name) {
+        AssetDescriptor<?> descriptor = descriptors.get(name);
+        if (descriptor != null) {
+            cache.release(descriptor);
+        }
+    }
+
+    public Texture texture(String name) {
+        return acquire(name, Texture.class);
+    }
+
+    public TextureAtlas atlas(String name) {
+        return acquire(name, TextureAtlas.class);
+    }
+
+    public Sound sound(String name) {
+        return acquire(name, Sound.class);
+    }
+
+    public Music music(String name) {
+        return acquire(name, Music.class);
+    }
+
+    public BitmapFont font(String name) {
+        return acquire(name, BitmapFont.class);
+    }
+
+    public ParticleEffect particleEffect(String name) {
+        return acquire(name, ParticleEffect.class);
+    }
+
+    @Override
+    public void dispose() {
+        manager.dispose();
+        textureLoader.dispose();
+    }
+}
@@ -0,0 +1,62 @@
+package io.github.avx20.M4TCH;
+
+// A board packed into longs, four bits per cell and sixteen cells per long: the tier (1 = base, 2 = intermediate,
+// 3 = star) in the low two bits and the color (GameModel.RED, BLUE or GREEN) in the high two. Cell
+// i = row * cols + col sits at bits 4(i % 16) to 4(i % 16) + 3 of long i / 16, and 0 is an empty cell. Per-cell
+// flags are kept as one long mask, bit i for cell i, which is what caps a board at MAX_CELLS.
+// Everything here is static and works on the primitives directly, so a 4x4 board is a single long and an 8x8
+// one four, copied with clone() and compared with Arrays.equals, and simulators or replay checks can evaluate
+// boards without touching an object.
+public final class Board {
+    public static final int MAX_CELLS = Long.SIZE;
+    private static final int BITS = 4;
+    private static final int CELLS_PER_WORD = Long.SIZE / BITS;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final int TIER_MASK = 3;
+    private static final int COLOR_SHIFT = 2;
+
+    private Board() {
+    }
+
+    public static long[] create(int cells) {
+        if (cells < 1 || cells > MAX_CELLS) {
+            throw new IllegalArgumentException("A board has 1 to " + MAX_CELLS + " cells, not " + cells);
+        }
+        return new long[(cells + CELLS_PER_WORD - 1) / CELLS_PER_WORD];
+    }
+
+    public static int code(int tier, int color) {
+        return tier | color << COLOR_SHIFT;
+    }
+
+    public static int tier(int code) {
+        return code & TIER_MASK;
+    }
+
+    public static int color(int code) {
+        return code >>> COLOR_SHIFT;
+    }
+
+    public static int cell(long[] board, int cell) {
+        return (int) (board[cell / CELLS_PER_WORD] >>> (cell % CELLS_PER_WORD * BITS)) & MASK;
+    }
+
+    public static void set(long[] board, int cell, int code) {
+        int word = cell / CELLS_PER_WORD;
+        int shift = cell % CELLS_PER_WORD * BITS;
+        board[word] = board[word] & ~((long) MASK << shift) | (long) code << shift;
+    }
+
+    // Same tier and color, compared as one nibble
+    public static boolean matches(long[] board, int first, int second) {
+        return cell(board, first) == cell(board, second);
+    }
+
+    public static boolean isSet(long flags, int cell) {
+        return (flags & 1L << cell) != 0;
+    }
+
+    public static long set(long flags, int cell, boolean on) {
+        return on ? flags | 1L << cell : flags & ~(1L << cell);
+    }
+}
@@ -0,0 +1,187 @@
+package io.github.avx20.M4TCH;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+// Settled tiles, baked into a FrameBuffer covering the board, so a frame draws one quad for them and leaves only
+// the tiles that are appearing, shaking or selected to TileRenderer. A cell is baked once its tile settles and
+// cleared again as soon as it is invalidated; the rest of the buffer is left alone. Cells are only looked at
+// when one was invalidated or a growing tile is due to settle, so most frames skip the board entirely.
+// The buffer matches the board's size on screen and is rebuilt when that changes.
+public class BoardCache implements Disposable {
+    private final int rows;
+    private final int cols;
+    private final float x;
+    private final float y;
+    private final float cellSize;
+    private final float pitch; // Cell size plus spacing
+    private final float width;
+    private final float height;
+
+    private final boolean[] baked;
+    private final boolean[] dirty;
+    private final boolean[] work;
+    private final Matrix4 projection = new Matrix4();
+    private FrameBuffer frameBuffer;
+    private TextureRegion region;
+    private float pixelsPerUnit;
+    private boolean anyDirty = true;
+    private float nextSettleTime = 0;
+
+    // Cell (row, col) spans cellSize world units from (x + col * pitch, y + row * pitch)
+    public BoardCache(int rows, int cols, float x, float y, float cellSize, float spacing) {
+        this.rows = rows;
+        this.cols = cols;
+        this.x = x;
+        this.y = y;
+        this.cellSize = cellSize;
+        this.pitch = cellSize + spacing;
+        this.width = cols * pitch - spacing;
+        this.height = rows * pitch - spacing;
+        baked = new boolean[rows * cols];
+        dirty = new boolean[rows * cols];
+        work = new boolean[rows * cols];
+        projection.setToOrtho2D(x, y, width, height);
+    }
+
+    // The cell's tile changed (replaced, selected, started or stopped shaking, changed speed)
+    public void invalidate(int row, int col) {
+        dirty[row * cols + col] = true;
+        anyDirty = true;
+    }
+
+    public void invalidateAll() {
+        for (int i = 0; i < dirty.length; i++) {
+            dirty[i] = true;
+        }
+        anyDirty = true;
+    }
+
+    // True if the tile in this cell is drawn by draw() and must not be drawn again
+    public boolean isCached(int row, int col) {
+        return baked[row * cols + col];
+    }
+
+    // Bakes newly settled tiles and clears cells whose tiles stopped being settled, as of the given animation
+    // time. Returns true if any cell changed between cached and not. Uses the batch, so it must run outside
+    // begin()/end(), and it leaves the back buffer bound with a full-size GL viewport: call RenderContext.apply()
+    // afterwards, which restores both.
+    public boolean update(SpriteBatch batch, Viewport viewport, Tile[][] grid, Tile selected, float time) {
+        float scale = viewport.getScreenWidth() / viewport.getWorldWidth();
+        if (frameBuffer == null || scale != pixelsPerUnit) {
+            rebuild(scale);
+        }
+        if (!anyDirty && time < nextSettleTime) {
+            return false;
+        }
+        anyDirty = false;
+        nextSettleTime = Float.POSITIVE_INFINITY;
+
+        boolean anyWork = false;
+        boolean anyBake = false;
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                int i = row * cols + col;
+                Tile tile = grid[row][col];
+                boolean settled = tile != null && tile != selected && !tile.isVibrating() && tile.getScale(time) >= 1f;
+                if (tile != null && tile != selected && !settled) {
+                    nextSettleTime = Math.min(nextSettleTime, tile.getSettleTime());
+                }
+                work[i] = settled ? !baked[i] || dirty[i] : baked[i];
+                baked[i] = settled;
+                dirty[i] = false;
+                anyWork |= work[i];
+                anyBake |= work[i] && settled;
+            }
+        }
+        if (!anyWork) {
+            return false;
+        }
+
+        frameBuffer.begin();
+        Gdx.gl.glEnable(GL20.GL_SCISSOR_TEST);
+        Gdx.gl.glClearColor(0, 0, 0, 0);
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                if (work[row * cols + col]) {
+                    // One pixel of margin: the spacing between cells is never drawn to
+                    int left = (int) Math.floor(col * pitch * pixelsPerUnit) - 1;
+                    int bottom = (int) Math.floor(row * pitch * pixelsPerUnit) - 1;
+                    int size = (int) Math.ceil(cellSize * pixelsPerUnit) + 2;
+                    Gdx.gl.glScissor(left, bottom, size, size);
+                    Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+                }
+            }
+        }
+        Gdx.gl.glDisable(GL20.GL_SCISSOR_TEST);
+
+        if (anyBake) {
+            batch.setProjectionMatrix(projection);
+            // Color blends as usual, alpha accumulates: the buffer ends up premultiplied, see draw()
+            batch.setBlendFunctionSeparate(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA,
+                GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+            batch.begin();
+            for (int row = 0; row < rows; row++) {
+                for (int col = 0; col < cols; col++) {
+                    int i = row * cols + col;
+                    if (work[i] && baked[i]) {
+                        batch.draw(grid[row][col].getRegion(), x + col * pitch, y + row * pitch, cellSize, cellSize);
+                    }
+                }
+            }
+            batch.end();
+            batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        }
+        frameBuffer.end();
+        return true;
+    }
+
+    // Draws every baked tile as one quad; call between begin() and end() with the screen's projection
+    public void draw(SpriteBatch batch) {
+        if (region == null) {
+            return;
+        }
+        batch.setBlendFunction(GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        batch.draw(region, x, y, width, height);
+        batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+    }
+
+    private void rebuild(float scale) {
+        if (frameBuffer != null) {
+            frameBuffer.dispose();
+        }
+        pixelsPerUnit = scale;
+        int pixelWidth = Math.max(1, Math.round(width * scale));
+        int pixelHeight = Math.max(1, Math.round(height * scale));
+        frameBuffer = new FrameBuffer(Pixmap.Format.RGBA8888, pixelWidth, pixelHeight, false);
+        frameBuffer.getColorBufferTexture().setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+        region = new TextureRegion(frameBuffer.getColorBufferTexture());
+        region.flip(false, true);
+
+        frameBuffer.begin();
+        Gdx.gl.glClearColor(0, 0, 0, 0);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+        frameBuffer.end();
+        for (int i = 0; i < baked.length; i++) {
+            baked[i] = false;
+        }
+        anyDirty = true;
+    }
+
+    @Override
+    public void dispose() {
+        if (frameBuffer != null) {
+            frameBuffer.dispose();
+            frameBuffer = null;
+            region = null;
+        }
+    }
+}
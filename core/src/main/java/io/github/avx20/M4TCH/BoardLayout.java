@@ -0,0 +1,66 @@
+package io.github.avx20.M4TCH;
+
+// Where a rows x cols board sits in the world, fixed for a round: cell (row, col) is a getTileSize() square from
+// (slotX(col), slotY(row)), the board centered in the world. Tile size and gap are those of a 4x4 board; larger
+// boards fill the same square with proportionally smaller tiles.
+public class BoardLayout {
+    private static final float TILE_SIZE = 220;
+    private static final float TILE_SPACING = 5;
+
+    private final int rows;
+    private final int cols;
+    private final float tileSize;
+    private final float pitch;
+    private final float boardX;
+    private final float boardY;
+
+    public BoardLayout(int rows, int cols, float worldWidth, float worldHeight) {
+        this.rows = rows;
+        this.cols = cols;
+        pitch = (TILE_SIZE + TILE_SPACING) * GameModel.DEFAULT_ROWS / Math.max(rows, cols);
+        tileSize = pitch * TILE_SIZE / (TILE_SIZE + TILE_SPACING);
+        boardX = (worldWidth - cols * pitch) / 2;
+        boardY = (worldHeight - rows * pitch) / 2;
+    }
+
+    public float slotX(int col) {
+        return boardX + col * pitch;
+    }
+
+    public float slotY(int row) {
+        return boardY + row * pitch;
+    }
+
+    // The cell under a world point as row * cols + col, or -1 outside the board and in the gaps between tiles.
+    // Found by dividing by the pitch, so a touch costs the same on any board size.
+    public int cellAt(float x, float y) {
+        float localX = x - boardX;
+        float localY = y - boardY;
+        if (localX < 0 || localY < 0) {
+            return -1;
+        }
+        int col = (int) (localX / pitch);
+        int row = (int) (localY / pitch);
+        if (col >= cols || row >= rows || localX - col * pitch > tileSize || localY - row * pitch > tileSize) {
+            return -1;
+        }
+        return row * cols + col;
+    }
+
+    public float getTileSize() {
+        return tileSize;
+    }
+
+    // Tile size plus the gap to the next tile
+    public float getPitch() {
+        return pitch;
+    }
+
+    public float getBoardX() {
+        return boardX;
+    }
+
+    public float getBoardY() {
+        return boardY;
+    }
+}
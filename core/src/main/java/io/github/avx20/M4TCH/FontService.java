@@ -0,0 +1,98 @@
+package io.github.avx20.M4TCH;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.DistanceFieldFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.LongMap;
+
+// Every screen's fonts, cached per (size, color) for the whole session. They are all drawn from the one
+// distance-field font baked by :core:bakeFonts, so any size stays sharp. Characters the bake doesn't cover
+// (CJK, mostly) are rasterized on first use by a GlyphSource shared by all of them.
+// Text only renders correctly with the distance-field shader, which RenderContext's batch always uses.
+// The service owns the fonts: screens may change their color but must not rescale or dispose them.
+public class FontService implements Disposable {
+    // Em size and spread the font was baked at, see distanceFieldFont in core/build.gradle
+    private static final int BASE_SIZE = 48;
+    private static final int SPREAD = 6;
+
+    private final Assets assets;
+    private final LongMap<BitmapFont> fonts = new LongMap<>();
+    private BitmapFont baked; // As loaded by the AssetManager
+    // Pages every font draws from: the baked page(s), then whatever the GlyphSource adds
+    private Array<TextureRegion> pages;
+    private GlyphSource glyphSource;
+
+    public FontService(Assets assets) {
+        this.assets = assets;
+    }
+
+    public BitmapFont get(int size, Color color) {
+        long key = (long) size << 32 | Color.rgba8888(color) & 0xffffffffL;
+        BitmapFont font = fonts.get(key);
+        if (font == null) {
+            font = create(size);
+            font.setColor(color);
+            fonts.put(key, font);
+        }
+        return font;
+    }
+
+    private BitmapFont create(int size) {
+        if (baked == null) {
+            baked = assets.font(Assets.FONT_SDF);
+            pages = new Array<>(baked.getRegions());
+            glyphSource = new GlyphSource(assets, BASE_SIZE, SPREAD, pages, Assets.FONT, Assets.FONT_CJK);
+        }
+        // Each font gets its own glyph data so it can carry its own scale; the texture pages are shared
+        FallbackFontData data = new FallbackFontData(baked.getData().getFontFile(), glyphSource);
+        data.setScale(size / (float) BASE_SIZE);
+        DistanceFieldFont font = new DistanceFieldFont(data, pages, false);
+        font.setDistanceFieldSmoothing(SPREAD);
+        return font;
+    }
+
+    @Override
+    public void dispose() {
+        if (baked != null) {
+            glyphSource.dispose();
+            assets.release(Assets.FONT_SDF);
+            baked = null;
+        }
+        fonts.clear();
+    }
+
+    // Baked glyphs, plus any others fetched from the GlyphSource the first time a string uses them
+    private static class FallbackFontData extends BitmapFont.BitmapFontData {
+        private final GlyphSource source;
+
+        FallbackFontData(FileHandle fontFile, GlyphSource source) {
+            super(fontFile, false);
+            this.source = source;
+        }
+
+        @Override
+        public BitmapFont.Glyph getGlyph(char ch) {
+            BitmapFont.Glyph glyph = super.getGlyph(ch);
+            // source is still null while the superclass constructor loads the .fnt
+            if (glyph == null && source != null) {
+                glyph = source.getGlyph(ch);
+                if (glyph != null) {
+                    setGlyph(ch, glyph);
+                }
+            }
+            return glyph;
+        }
+
+        @Override
+        public void getGlyphs(GlyphLayout.GlyphRun run, CharSequence str, int start, int end, BitmapFont.Glyph lastGlyph) {
+            super.getGlyphs(run, str, start, end, lastGlyph);
+            // New glyphs reach the GPU before the string is drawn, in one upload per page
+            source.flush();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package io.github.avx20.M4TCH;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+// A picture of one frame of a screen, kept in a FrameBuffer so another screen can draw it as its backdrop.
+// It is rendered at 1 / downscale of the viewport's size on screen; with linear filtering, stretching it back up
+// blurs it for free. The buffer is reused for every capture and only rebuilt when that size changes.
+public class FrameCapture implements Disposable {
+    private final int downscale;
+    private FrameBuffer frameBuffer;
+    private TextureRegion region;
+
+    public FrameCapture(int downscale) {
+        this.downscale = Math.max(1, downscale);
+    }
+
+    // Starts drawing into the capture: whatever is drawn with the viewport's camera until end() fills it
+    // edge to edge. No batch may be drawing.
+    public void begin(Viewport viewport) {
+        int width = Math.max(1, viewport.getScreenWidth() / downscale);
+        int height = Math.max(1, viewport.getScreenHeight() / downscale);
+        if (frameBuffer == null || frameBuffer.getWidth() != width || frameBuffer.getHeight() != height) {
+            if (frameBuffer != null) {
+                frameBuffer.dispose();
+            }
+            frameBuffer = new FrameBuffer(Pixmap.Format.RGB888, width, height, false);
+            frameBuffer.getColorBufferTexture().setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+            region = new TextureRegion(frameBuffer.getColorBufferTexture());
+            region.flip(false, true);
+        }
+        frameBuffer.bind();
+        Gdx.gl.glViewport(0, 0, width, height);
+        Gdx.gl.glClearColor(0, 0, 0, 1);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+    }
+
+    // Leaves the back buffer bound; call RenderContext.apply() before drawing anything else
+    public void end() {
+        FrameBuffer.unbind();
+    }
+
+    // Null until the first capture
+    public TextureRegion getRegion() {
+        return region;
+    }
+
+    @Override
+    public void dispose() {
+        if (frameBuffer != null) {
+            frameBuffer.dispose();
+            frameBuffer = null;
+            region = null;
+        }
+    }
+}
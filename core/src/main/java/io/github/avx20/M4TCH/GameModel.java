@@ -0,0 +1,535 @@
+package io.github.avx20.M4TCH;
+
+// The rules of a round, with no rendering, input or libGDX in it: the board, selection and matching, scoring,
+// the power-ups and the countdown. Time only moves in step(), one fixed TICK at a time, so a round plays out the
+// same at any frame rate and can be simulated anywhere, e.g. off the render thread or in a test.
+// PlayScreen feeds it taps through select() and draws what it reports to its Listener.
+public class GameModel {
+    public static final int TICKS_PER_SECOND = 60;
+    public static final float TICK = 1f / TICKS_PER_SECOND;
+    public static final int DEFAULT_ROWS = 4;
+    public static final int DEFAULT_COLS = 4;
+    public static final int MIN_SIZE = 2;
+    public static final int MAX_SIZE = 8; // MAX_SIZE squared must fit in Board.MAX_CELLS
+
+    // Tile colors; TileAtlas.COLORS lists their names in the same order
+    public static final int RED = 0;
+    public static final int BLUE = 1;
+    public static final int GREEN = 2;
+    public static final int COLOR_COUNT = 3;
+
+    public static final int STAR = 3; // Highest tile number; two stars trigger their color's power-up
+    // Scale gained per second at speed multiplier 1 by a tile popping in
+    public static final float GROW_RATE = 3.6f;
+    private static final float SELECTED_SCALE = 0.85f;
+    private static final float ROUND_SECONDS = 60;
+    private static final float FROZEN_CLOCK_RATE = 0.25f; // The round clock under the freeze time power-up
+    // No round lasts longer than this, even one frozen from start to end; a second over allows for float rounding
+    public static final long MAX_ROUND_TICKS = (long) (ROUND_SECONDS / FROZEN_CLOCK_RATE + 1) * TICKS_PER_SECOND;
+    private static final float MISMATCH_BLOCK_SECONDS = 0.5f;
+    private static final float COMBO_WINDOW_SECONDS = 0.5f;
+    private static final float NORMAL_TILE_SPEED_MULTIPLIER = 0.2f;
+    private static final float INSTANT_TILE_SPEED_MULTIPLIER = 2.0f; // 10x faster (0.2 * 10 = 2.0)
+    // The opening board pops in row by row over the same time whatever its size
+    private static final float OPENING_ROWS_SECONDS = 1.6f;
+    private static final float OPENING_ROW_SECONDS = 0.4f;
+    // Points for matching two tiles, indexed by (tier - 1) * 3 + bonus level: plain, combo multiplier active,
+    // all power-ups active. A red star pair during all power-ups after a red combo is worth RED_STAR_COMBO_SCORE.
+    private static final int[] SCORES = {
+        50, 100, 290,    // Base tiles (number one tiles)
+        150, 300, 610,   // Intermediate tiles (number two tiles)
+        500, 1000, 2500  // Star tiles
+    };
+    private static final int RED_STAR_COMBO_SCORE = 5000;
+    private static final long RANDOM_MULTIPLIER = 0x5DEECE66DL;
+    private static final long RANDOM_INCREMENT = 0xBL;
+    private static final long RANDOM_MASK = (1L << 48) - 1;
+
+    // What the view needs to hear about; every call happens inside step() or select()
+    public interface Listener {
+        // Anything about the cell's tile changed: replaced, selected, shaking, speed
+        void cellChanged(int row, int col);
+
+        // Two tiles were combined into the one now at (row, col)
+        void matched(int row, int col, int color);
+
+        // Two stars were matched; both cells already hold their replacements
+        void starMatched(int row1, int col1, int row2, int col2, int color);
+
+        void mismatched();
+
+        // The red combo went up a level
+        void comboRaised(int level);
+    }
+
+    // State of the tile color generator, see nextRandom
+    private long randomState;
+    private Listener listener;
+    private final int rows;
+    private final int cols;
+
+    // Tier and color of every cell, see Board; cells are indexed row * cols + col
+    private final long[] board;
+    private long fullyVisible = 0; // Latched once a tile has grown to full size
+    private long vibrating = 0;
+    // Pop-in animation: the scale grows from startScale at startTime, see getScale
+    private final float[] startTimes;
+    private final float[] startScales;
+    private final float[] speedMultipliers;
+
+    private long ticks = 0;
+    private float timeRemaining = ROUND_SECONDS;
+    private int score = 0;
+    private boolean over = false;
+
+    private int firstSelected = -1;
+    private int secondSelected = -1;
+    private boolean inputBlocked = false;
+    private float inputBlockTimer = 0;
+
+    // Power-up states
+    private boolean freezeTimeActive = false;
+    private float freezeTimeRemaining = 0;
+    private boolean comboMultiplierActive = false;
+    private float comboMultiplierRemaining = 0;
+    private boolean instantTilesActive = false;
+    private float instantTilesRemaining = 0;
+
+    // Combo system
+    private int comboMultiplier = 1;
+    private float comboTimeRemaining = 0;
+    private boolean redMatchDuringAllPowerUps = false;
+    private int redComboCount = 0;
+
+    public GameModel(long seed, int rows, int cols) {
+        if (rows < MIN_SIZE || rows > MAX_SIZE || cols < MIN_SIZE || cols > MAX_SIZE) {
+            throw new IllegalArgumentException("Board must be " + MIN_SIZE + " to " + MAX_SIZE
+                + " cells a side, not " + rows + "x" + cols);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        randomState = (seed ^ RANDOM_MULTIPLIER) & RANDOM_MASK;
+        board = Board.create(rows * cols);
+        startTimes = new float[rows * cols];
+        startScales = new float[rows * cols];
+        speedMultipliers = new float[rows * cols];
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                int cell = row * cols + col;
+                spawn(cell, 1, randomColor(), 1f);
+                startTimes[cell] = row * OPENING_ROWS_SECONDS / rows + col * OPENING_ROW_SECONDS / cols;
+            }
+        }
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    public Listener getListener() {
+        return listener;
+    }
+
+    // Advances the round by one TICK
+    public void step() {
+        if (over) {
+            return;
+        }
+        updatePowerUpTimers(TICK);
+
+        // Update time remaining (considering freeze time power-up)
+        if (!freezeTimeActive) {
+            timeRemaining -= TICK;
+        } else {
+            timeRemaining -= TICK * FROZEN_CLOCK_RATE; // 75% slower
+        }
+        ticks++;
+
+        if (timeRemaining <= 0) {
+            over = true;
+            return;
+        }
+
+        if (inputBlocked) {
+            inputBlockTimer += TICK;
+            if (inputBlockTimer >= MISMATCH_BLOCK_SECONDS) {
+                inputBlocked = false;
+                inputBlockTimer = 0;
+                long shaking = vibrating;
+                vibrating = 0;
+                for (; shaking != 0; shaking &= shaking - 1) {
+                    changed(Long.numberOfTrailingZeros(shaking));
+                }
+            }
+        }
+    }
+
+    private void updatePowerUpTimers(float delta) {
+        // Update combo timer
+        if (comboTimeRemaining > 0) {
+            comboTimeRemaining -= delta;
+            if (comboTimeRemaining <= 0) {
+                comboMultiplier = 1;
+                redComboCount = 0;
+            }
+        }
+
+        // Update power-up timers
+        if (freezeTimeActive) {
+            freezeTimeRemaining -= delta;
+            if (freezeTimeRemaining <= 0) {
+                freezeTimeActive = false;
+            }
+        }
+
+        if (comboMultiplierActive) {
+            comboMultiplierRemaining -= delta;
+            if (comboMultiplierRemaining <= 0) {
+                comboMultiplierActive = false;
+            }
+        }
+
+        if (instantTilesActive) {
+            instantTilesRemaining -= delta;
+            if (instantTilesRemaining <= 0) {
+                instantTilesActive = false;
+                // When instant tiles effect expires, set all existing tiles to normal speed
+                updateAllTilesSpeed(NORMAL_TILE_SPEED_MULTIPLIER);
+            }
+        }
+    }
+
+    // A tap on a cell. Returns true if it selected the tile there; taps on tiles still popping in (unless instant
+    // tiles is active), during a mismatch or after the round ended do nothing.
+    public boolean select(int row, int col) {
+        if (over || inputBlocked) {
+            return false;
+        }
+        int cell = row * cols + col;
+        if (!isFullyVisible(cell) && !instantTilesActive) {
+            return false;
+        }
+
+        setScale(cell, SELECTED_SCALE);
+        changed(cell);
+        if (firstSelected < 0) {
+            firstSelected = cell;
+        } else if (secondSelected < 0 && cell != firstSelected) {
+            secondSelected = cell;
+            checkForMatch();
+        }
+        return true;
+    }
+
+    private void checkForMatch() {
+        int first = firstSelected;
+        int second = secondSelected;
+        firstSelected = -1;
+        secondSelected = -1;
+
+        if (Board.matches(board, first, second)) {
+            if (Board.tier(Board.cell(board, first)) == STAR) {
+                handleStarTileMatch(first, second);
+            } else {
+                combineTiles(first, second);
+            }
+        } else {
+            vibrating |= 1L << first | 1L << second;
+            changed(first);
+            changed(second);
+            inputBlocked = true;
+            inputBlockTimer = 0;
+            if (listener != null) {
+                listener.mismatched();
+            }
+        }
+    }
+
+    private void handleStarTileMatch(int first, int second) {
+        int color = Board.color(Board.cell(board, first));
+
+        // Activate power-ups based on color
+        if (color == BLUE) {
+            freezeTimeActive = true;
+            if (instantTilesRemaining > 0) {
+                freezeTimeRemaining += 5; // Extend duration
+            } else {
+                freezeTimeRemaining = 5;
+            }
+        } else if (color == RED) {
+            comboMultiplierActive = true;
+            if (comboMultiplierRemaining > 0) {
+                comboMultiplierRemaining += 7; // Extend duration
+            } else {
+                comboMultiplierRemaining = 7;
+            }
+
+            // Check for red combo
+            if (allPowerUpsActive()) {
+                redMatchDuringAllPowerUps = true;
+                comboTimeRemaining = COMBO_WINDOW_SECONDS;
+                redComboCount++;
+                comboMultiplier = 1 << redComboCount;
+                if (listener != null) {
+                    listener.comboRaised(redComboCount);
+                }
+            }
+        } else if (color == GREEN) {
+            instantTilesActive = true;
+            if (instantTilesRemaining > 0) {
+                instantTilesRemaining += 10; // Extend duration
+            } else {
+                instantTilesRemaining = 10;
+            }
+            // Apply instant tiles effect to all tiles
+            updateAllTilesSpeed(INSTANT_TILE_SPEED_MULTIPLIER);
+        }
+
+        // Set appropriate speed based on whether instant tiles is active
+        float speedMultiplier = instantTilesActive ? INSTANT_TILE_SPEED_MULTIPLIER : NORMAL_TILE_SPEED_MULTIPLIER;
+        spawn(first, 1, randomColor(), speedMultiplier);
+        spawn(second, 1, randomColor(), speedMultiplier);
+        changed(first);
+        changed(second);
+
+        score += calculateScore(Board.code(STAR, color)) * comboMultiplier;
+        if (listener != null) {
+            listener.starMatched(first / cols, first % cols, second / cols, second % cols, color);
+        }
+    }
+
+    private void combineTiles(int first, int second) {
+        int original = Board.cell(board, first); // Store the original tile for scoring
+        int color = Board.color(original);
+
+        // The combined tile takes the second cell, a new base tile the first
+        spawn(second, Board.tier(original) + 1, color, 1f);
+        changed(second);
+        float speedMultiplier = instantTilesActive ? INSTANT_TILE_SPEED_MULTIPLIER : NORMAL_TILE_SPEED_MULTIPLIER;
+        spawn(first, 1, randomColor(), speedMultiplier);
+        changed(first);
+
+        // Calculate score based on the original number before combination
+        score += calculateScore(original) * comboMultiplier;
+
+        // Reset combo timer if not a red match during all power-ups
+        if (!(color == RED && allPowerUpsActive())) {
+            comboTimeRemaining = COMBO_WINDOW_SECONDS;
+        }
+        if (listener != null) {
+            listener.matched(second / cols, second % cols, color);
+        }
+    }
+
+    private int calculateScore(int code) {
+        boolean allPowerUpsActive = allPowerUpsActive();
+        // Special case for red star tiles when all power-ups are active
+        if (code == Board.code(STAR, RED) && allPowerUpsActive && redMatchDuringAllPowerUps) {
+            return RED_STAR_COMBO_SCORE;
+        }
+        int bonus = allPowerUpsActive ? 2 : comboMultiplierActive ? 1 : 0;
+        return SCORES[(Board.tier(code) - 1) * 3 + bonus];
+    }
+
+    private boolean allPowerUpsActive() {
+        return freezeTimeActive && comboMultiplierActive && instantTilesActive;
+    }
+
+    // Puts a new tile in a cell, popping in from nothing now
+    private void spawn(int cell, int number, int color, float speedMultiplier) {
+        Board.set(board, cell, Board.code(number, color));
+        startTimes[cell] = getTime();
+        startScales[cell] = 0f;
+        speedMultipliers[cell] = speedMultiplier;
+        fullyVisible = Board.set(fullyVisible, cell, false);
+        vibrating = Board.set(vibrating, cell, false);
+    }
+
+    private void updateAllTilesSpeed(float speedMultiplier) {
+        float time = getTime();
+        for (int cell = 0; cell < startTimes.length; cell++) {
+            // Rebase the animation so the scale doesn't jump
+            if (time > startTimes[cell]) {
+                startScales[cell] = getScale(cell, time);
+                startTimes[cell] = time;
+            }
+            speedMultipliers[cell] = speedMultiplier;
+            changed(cell);
+        }
+    }
+
+    // Jumps to the given scale now and grows back from there
+    private void setScale(int cell, float scale) {
+        fullyVisible = Board.set(fullyVisible, cell, isFullyVisible(cell));
+        startScales[cell] = scale;
+        startTimes[cell] = getTime();
+    }
+
+    private boolean isFullyVisible(int cell) {
+        return Board.isSet(fullyVisible, cell) || getScale(cell, getTime()) >= 1f;
+    }
+
+    private int randomColor() {
+        return nextRandom(COLOR_COUNT);
+    }
+
+    // The 48-bit linear congruential generator and bounded draw specified for java.util.Random, so a seed gives
+    // the same colors as new Random(seed).nextInt(bound) on any JVM. It is kept here rather than in a Random so
+    // that copyFrom can take its state along.
+    private int nextRandom(int bound) {
+        int bits;
+        int value;
+        do {
+            randomState = (randomState * RANDOM_MULTIPLIER + RANDOM_INCREMENT) & RANDOM_MASK;
+            bits = (int) (randomState >>> 17);
+            value = bits % bound;
+        } while (bits - value + (bound - 1) < 0);
+        return value;
+    }
+
+    private void changed(int cell) {
+        if (listener != null) {
+            listener.cellChanged(cell / cols, cell % cols);
+        }
+    }
+
+    // A detached copy of the whole state, e.g. a keyframe to seek a replay from
+    public GameModel copy() {
+        GameModel copy = new GameModel(0, rows, cols);
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    // Takes over every bit of another model's state, which must have the same board size. The listener is not
+    // told: views showing this model have to redraw all of it afterwards.
+    public void copyFrom(GameModel other) {
+        if (other.rows != rows || other.cols != cols) {
+            throw new IllegalArgumentException("Can't copy a " + other.rows + "x" + other.cols + " model into a "
+                + rows + "x" + cols + " one");
+        }
+        randomState = other.randomState;
+        System.arraycopy(other.board, 0, board, 0, board.length);
+        fullyVisible = other.fullyVisible;
+        vibrating = other.vibrating;
+        System.arraycopy(other.startTimes, 0, startTimes, 0, startTimes.length);
+        System.arraycopy(other.startScales, 0, startScales, 0, startScales.length);
+        System.arraycopy(other.speedMultipliers, 0, speedMultipliers, 0, speedMultipliers.length);
+
+        ticks = other.ticks;
+        timeRemaining = other.timeRemaining;
+        score = other.score;
+        over = other.over;
+
+        firstSelected = other.firstSelected;
+        secondSelected = other.secondSelected;
+        inputBlocked = other.inputBlocked;
+        inputBlockTimer = other.inputBlockTimer;
+
+        freezeTimeActive = other.freezeTimeActive;
+        freezeTimeRemaining = other.freezeTimeRemaining;
+        comboMultiplierActive = other.comboMultiplierActive;
+        comboMultiplierRemaining = other.comboMultiplierRemaining;
+        instantTilesActive = other.instantTilesActive;
+        instantTilesRemaining = other.instantTilesRemaining;
+
+        comboMultiplier = other.comboMultiplier;
+        comboTimeRemaining = other.comboTimeRemaining;
+        redMatchDuringAllPowerUps = other.redMatchDuringAllPowerUps;
+        redComboCount = other.redComboCount;
+    }
+
+    // Seconds of simulated time, TICK per step()
+    public float getTime() {
+        return ticks / (float) TICKS_PER_SECOND;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    public float getScale(int cell, float time) {
+        return Math.min(1f, startScales[cell] + Math.max(0f, time - startTimes[cell]) * GROW_RATE * speedMultipliers[cell]);
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    // The packed board, see Board; the model's own array, so callers must not change it
+    public long[] getBoard() {
+        return board;
+    }
+
+    public int getNumber(int row, int col) {
+        return Board.tier(Board.cell(board, row * cols + col));
+    }
+
+    public int getColor(int row, int col) {
+        return Board.color(Board.cell(board, row * cols + col));
+    }
+
+    public float getStartTime(int row, int col) {
+        return startTimes[row * cols + col];
+    }
+
+    public float getStartScale(int row, int col) {
+        return startScales[row * cols + col];
+    }
+
+    public float getSpeedMultiplier(int row, int col) {
+        return speedMultipliers[row * cols + col];
+    }
+
+    public boolean isVibrating(int row, int col) {
+        return Board.isSet(vibrating, row * cols + col);
+    }
+
+    // The first tile of a pending pair, or -1 for none, as row * cols + col
+    public int getSelectedCell() {
+        return firstSelected;
+    }
+
+    public boolean isOver() {
+        return over;
+    }
+
+    public float getTimeRemaining() {
+        return timeRemaining;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public boolean isFreezeTimeActive() {
+        return freezeTimeActive;
+    }
+
+    public float getFreezeTimeRemaining() {
+        return freezeTimeRemaining;
+    }
+
+    public boolean isComboMultiplierActive() {
+        return comboMultiplierActive;
+    }
+
+    public float getComboMultiplierRemaining() {
+        return comboMultiplierRemaining;
+    }
+
+    public boolean isInstantTilesActive() {
+        return instantTilesActive;
+    }
+
+    public float getInstantTilesRemaining() {
+        return instantTilesRemaining;
+    }
+
+    public int getComboMultiplier() {
+        return comboMultiplier;
+    }
+}
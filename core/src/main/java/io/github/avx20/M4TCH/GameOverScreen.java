@@ -8,17 +8,17 @@ import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.Timer;
-import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 
-public class GameOverScreen implements Screen {
+public class GameOverScreen implements Screen, M4TCH.StaticScreen {
     private final M4TCH game;
     private Texture background;
-    private Texture restartButtonTexture;
-    private Texture exitButtonTexture;
+    private TextureRegion restartButtonTexture;
+    private TextureRegion exitButtonTexture;
     private Rectangle restartButtonBounds;
     private Rectangle exitButtonBounds;
     private Viewport viewport;
@@ -58,22 +58,16 @@ public class GameOverScreen implements Screen {
             // Could save the new high score here
         }
 
-        this.viewport = new FitViewport(1920, 1080);
-        this.font = new BitmapFont();
-        font.getData().setScale(3.0f); // Scale up font for better visibility
+        this.viewport = game.getRenderContext().getViewport();
+        this.font = game.getFonts().get(45, Color.WHITE);
 
-        try {
-            // Try to load the game over background image
-            this.background = new Texture(Gdx.files.internal("game_over_bg.png"));
-        } catch (Exception e) {
-            Gdx.app.error("GameOverScreen", "Could not load game over background image", e);
-            // If loading fails, background will be null and we'll handle it in render
-        }
+        // Game over background is optional; if it failed to load we draw the text fallback in render
+        this.background = game.getAssets().texture(Assets.GAME_OVER_BG);
 
         try {
-            // Load button textures using your custom images
-            this.restartButtonTexture = new Texture("restart_button.png");
-            this.exitButtonTexture = new Texture("exit_button.png");
+            // Button images come from the shared UI atlas
+            this.restartButtonTexture = game.getUiAtlas().findRegion("restart_button");
+            this.exitButtonTexture = game.getUiAtlas().findRegion("exit_button");
 
             // For debug mode
             if (debugMode) {
@@ -91,10 +85,11 @@ public class GameOverScreen implements Screen {
         // Initialize button areas
         float centerX = viewport.getWorldWidth() / 2;
 
-        // Calculate visual sizes for the buttons (for rendering)
+        // Calculate visual sizes for the buttons (for rendering), in full-size texels whichever atlas variant was loaded
+        float uiScale = game.getAssets().getTextureScale(Assets.UI_ATLAS);
         if (restartButtonTexture != null) {
-            restartVisualWidth = restartButtonTexture.getWidth() * 0.4f; // Scale down to 40%
-            restartVisualHeight = restartButtonTexture.getHeight() * 0.4f;
+            restartVisualWidth = restartButtonTexture.getRegionWidth() / uiScale * 0.4f; // Scale down to 40%
+            restartVisualHeight = restartButtonTexture.getRegionHeight() / uiScale * 0.4f;
             restartVisualX = centerX - restartVisualWidth / 2;
             restartVisualY = 300; // Keep original position
 
@@ -108,8 +103,8 @@ public class GameOverScreen implements Screen {
         }
 
         if (exitButtonTexture != null) {
-            exitVisualWidth = exitButtonTexture.getWidth() * 0.4f;
-            exitVisualHeight = exitButtonTexture.getHeight() * 0.4f;
+            exitVisualWidth = exitButtonTexture.getRegionWidth() / uiScale * 0.4f;
+            exitVisualHeight = exitButtonTexture.getRegionHeight() / uiScale * 0.4f;
             exitVisualX = centerX - exitVisualWidth / 2;
             exitVisualY = 200; // Keep original position
 
@@ -136,7 +131,8 @@ public class GameOverScreen implements Screen {
                 Gdx.app.log("GameOverScreen", "Score " + finalScore + " recorded successfully");
                 scoreRecorded = true;
 
-                // Don't dispose the leaderboard here, as it might interrupt the save operation
+                // addScore saves synchronously, so the leaderboard can hand its resources back right away
+                leaderboard.dispose();
             } catch (Exception e) {
                 Gdx.app.error("GameOverScreen", "Failed to record score", e);
             }
@@ -149,9 +145,7 @@ public class GameOverScreen implements Screen {
         Gdx.gl.glClearColor(0.1f, 0.1f, 0.3f, 1);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 
-        viewport.apply();
-        SpriteBatch batch = game.getBatch();
-        batch.setProjectionMatrix(viewport.getCamera().combined);
+        SpriteBatch batch = game.getRenderContext().apply();
 
         batch.begin();
 
@@ -281,7 +275,7 @@ public class GameOverScreen implements Screen {
                         Timer.schedule(new Timer.Task() {
                             @Override
                             public void run() {
-                                game.setScreen(new PlayScreen(game));
+                                game.startGame();
                                 dispose();
                             }
                         }, 0.1f);
@@ -293,7 +287,7 @@ public class GameOverScreen implements Screen {
 
     @Override
     public void resize(int width, int height) {
-        viewport.update(width, height, true);
+        // The shared viewport is resized by M4TCH
     }
 
     @Override
@@ -310,16 +304,7 @@ public class GameOverScreen implements Screen {
 
     @Override
     public void dispose() {
-        font.dispose();
-        if (background != null) {
-            background.dispose();
-        }
-        if (restartButtonTexture != null) {
-            restartButtonTexture.dispose();
-        }
-        if (exitButtonTexture != null) {
-            exitButtonTexture.dispose();
-        }
+        game.getAssets().release(Assets.GAME_OVER_BG);
         if (debugMode && debugTexture != null) {
             debugTexture.dispose();
         }
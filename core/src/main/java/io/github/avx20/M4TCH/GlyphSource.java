@@ -0,0 +1,270 @@
+package io.github.avx20.M4TCH;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeType;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.IntSet;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// Distance-field glyphs for characters the baked font doesn't cover (the loading screen's Chinese text, for one),
+// rasterized with FreeType the first time a string needs them. They are packed into a set of alpha pages that
+// grows as needed and is shared by every FontService font. Each typeface stops after GLYPH_BUDGET glyphs so
+// stray text can't keep adding pages.
+public class GlyphSource implements Disposable {
+    private static final int PAGE_SIZE = 512;
+    private static final int GLYPH_BUDGET = 256;
+    // Glyphs are rendered at twice the target size before being reduced to a distance field
+    private static final int DOWNSCALE = 2;
+    private static final double INF = 1e20;
+
+    private static class Typeface {
+        final String name;
+        final FreeType.Face face;
+        int generated = 0;
+
+        Typeface(String name, FreeType.Face face) {
+            this.name = name;
+            this.face = face;
+        }
+    }
+
+    private final Assets assets;
+    private final String[] typefaceNames;
+    private final int size;
+    private final int spread;
+    private final Array<TextureRegion> regions;
+    private final int firstPage;
+
+    private final IntMap<BitmapFont.Glyph> glyphs = new IntMap<>();
+    private final IntSet unavailable = new IntSet();
+    private FreeType.Library library;
+    private final Array<Typeface> typefaces = new Array<>();
+    private PixmapPacker packer;
+    private int base;
+    private boolean dirty = false;
+
+    // regions are the page regions every font draws from; new pages are appended after the baked ones.
+    // Typefaces are tried in order and skipped when the build didn't package them.
+    public GlyphSource(Assets assets, int size, int spread, Array<TextureRegion> regions, String... typefaceNames) {
+        this.assets = assets;
+        this.size = size;
+        this.spread = spread;
+        this.regions = regions;
+        this.firstPage = regions.size;
+        this.typefaceNames = typefaceNames;
+    }
+
+    // Returns null if no typeface has the character or they are all over budget
+    public BitmapFont.Glyph getGlyph(char ch) {
+        BitmapFont.Glyph glyph = glyphs.get(ch);
+        if (glyph != null || unavailable.contains(ch)) {
+            return glyph;
+        }
+        if (library == null) {
+            open();
+        }
+        glyph = rasterize(ch);
+        if (glyph == null) {
+            unavailable.add(ch);
+            Gdx.app.debug("GlyphSource", "No glyph for U+" + Integer.toHexString(ch));
+        } else {
+            glyphs.put(ch, glyph);
+        }
+        return glyph;
+    }
+
+    // Uploads pages that gained glyphs since the last call; runs once per laid out string, not per glyph
+    public void flush() {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+        packer.updatePageTextures(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear, false);
+        while (regions.size < firstPage + packer.getPages().size) {
+            regions.add(new TextureRegion(packer.getPages().get(regions.size - firstPage).getTexture()));
+        }
+    }
+
+    private void open() {
+        library = FreeType.initFreeType();
+        for (String name : typefaceNames) {
+            FileHandle file = assets.file(name);
+            if (file == null) {
+                continue;
+            }
+            FreeType.Face face = library.newFace(file, 0);
+            face.setPixelSizes(0, size * DOWNSCALE);
+            typefaces.add(new Typeface(name, face));
+        }
+        if (typefaces.size > 0) {
+            // Same baseline as the baked font, which is cut from the first typeface with the same formula
+            FreeType.SizeMetrics metrics = typefaces.first().face.getSize().getMetrics();
+            base = Math.round(FreeType.toInt(metrics.getAscender()) / (float) DOWNSCALE);
+        }
+        packer = new PixmapPacker(PAGE_SIZE, PAGE_SIZE, Pixmap.Format.Alpha, 2, false,
+            new PixmapPacker.SkylineStrategy());
+    }
+
+    private BitmapFont.Glyph rasterize(char ch) {
+        for (Typeface typeface : typefaces) {
+            FreeType.Face face = typeface.face;
+            if (face.getCharIndex(ch) == 0) {
+                continue;
+            }
+            if (typeface.generated >= GLYPH_BUDGET) {
+                Gdx.app.error("GlyphSource", typeface.name + " is over its budget of " + GLYPH_BUDGET + " glyphs");
+                return null;
+            }
+            if (!face.loadChar(ch, FreeType.FT_LOAD_DEFAULT)) {
+                continue;
+            }
+            FreeType.GlyphSlot slot = face.getGlyph();
+            BitmapFont.Glyph glyph = new BitmapFont.Glyph();
+            glyph.id = ch;
+            glyph.xadvance = Math.round(FreeType.toInt(slot.getMetrics().getHoriAdvance()) / (float) DOWNSCALE);
+            typeface.generated++;
+            if (!slot.renderGlyph(FreeType.FT_RENDER_MODE_NORMAL) || slot.getBitmap().getWidth() == 0) {
+                return glyph; // Whitespace
+            }
+
+            FreeType.Bitmap bitmap = slot.getBitmap();
+            int left = slot.getBitmapLeft();
+            int top = slot.getBitmapTop();
+            // Bounds in page pixels, widened by the spread exactly like the glyphs baked by FontBaker
+            int outLeft = Math.floorDiv(left, DOWNSCALE) - spread;
+            int outRight = -Math.floorDiv(-(left + bitmap.getWidth()), DOWNSCALE) + spread;
+            int outTop = -Math.floorDiv(-top, DOWNSCALE) + spread;
+            int outBottom = Math.floorDiv(top - bitmap.getRows(), DOWNSCALE) - spread;
+
+            Pixmap field = distanceField(bitmap, left - outLeft * DOWNSCALE, outTop * DOWNSCALE - top,
+                outRight - outLeft, outTop - outBottom);
+            String name = String.valueOf((int) ch);
+            Rectangle rect = packer.pack(name, field);
+            field.dispose();
+
+            glyph.page = firstPage + packer.getPageIndex(name);
+            glyph.srcX = (int) rect.x;
+            glyph.srcY = (int) rect.y;
+            glyph.width = (int) rect.width;
+            glyph.height = (int) rect.height;
+            glyph.xoffset = outLeft;
+            glyph.yoffset = outBottom - base;
+            glyph.u = glyph.srcX / (float) PAGE_SIZE;
+            glyph.u2 = (glyph.srcX + glyph.width) / (float) PAGE_SIZE;
+            glyph.v = (glyph.srcY + glyph.height) / (float) PAGE_SIZE;
+            glyph.v2 = glyph.srcY / (float) PAGE_SIZE;
+            dirty = true;
+            return glyph;
+        }
+        return null;
+    }
+
+    // Thresholds the coverage bitmap on a DOWNSCALE times larger canvas, measures how far every pixel is from
+    // the outline (Felzenszwalb's exact distance transform, run once for each side) and samples it down
+    private Pixmap distanceField(FreeType.Bitmap bitmap, int offsetX, int offsetY, int width, int height) {
+        int w = width * DOWNSCALE;
+        int h = height * DOWNSCALE;
+        double[] outside = new double[w * h]; // Squared distance to the nearest inside pixel
+        double[] inside = new double[w * h]; // Squared distance to the nearest outside pixel
+        Arrays.fill(outside, INF);
+
+        ByteBuffer buffer = bitmap.getBuffer();
+        for (int y = 0; y < bitmap.getRows(); y++) {
+            for (int x = 0; x < bitmap.getWidth(); x++) {
+                if ((buffer.get(y * bitmap.getPitch() + x) & 0xff) >= 128) {
+                    int i = (offsetY + y) * w + offsetX + x;
+                    outside[i] = 0;
+                    inside[i] = INF;
+                }
+            }
+        }
+        transform(outside, w, h);
+        transform(inside, w, h);
+
+        Pixmap pixmap = new Pixmap(width, height, Pixmap.Format.Alpha);
+        pixmap.setBlending(Pixmap.Blending.None);
+        float range = spread * DOWNSCALE;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int i = (y * DOWNSCALE + DOWNSCALE / 2) * w + x * DOWNSCALE + DOWNSCALE / 2;
+                double distance = Math.sqrt(outside[i]) - Math.sqrt(inside[i]); // Positive outside the glyph
+                float alpha = Math.max(0f, Math.min(1f, 0.5f - 0.5f * (float) distance / range));
+                pixmap.drawPixel(x, y, Math.round(alpha * 255));
+            }
+        }
+        return pixmap;
+    }
+
+    private static void transform(double[] grid, int width, int height) {
+        int n = Math.max(width, height);
+        double[] f = new double[n];
+        double[] d = new double[n];
+        int[] v = new int[n];
+        double[] z = new double[n + 1];
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) f[y] = grid[y * width + x];
+            transform1d(f, d, v, z, height);
+            for (int y = 0; y < height; y++) grid[y * width + x] = d[y];
+        }
+        for (int y = 0; y < height; y++) {
+            System.arraycopy(grid, y * width, f, 0, width);
+            transform1d(f, d, v, z, width);
+            System.arraycopy(d, 0, grid, y * width, width);
+        }
+    }
+
+    private static void transform1d(double[] f, double[] d, int[] v, double[] z, int n) {
+        int k = 0;
+        v[0] = 0;
+        z[0] = -INF;
+        z[1] = INF;
+        for (int q = 1; q < n; q++) {
+            double s = ((f[q] + q * q) - (f[v[k]] + v[k] * v[k])) / (2 * q - 2 * v[k]);
+            while (s <= z[k]) {
+                k--;
+                s = ((f[q] + q * q) - (f[v[k]] + v[k] * v[k])) / (2 * q - 2 * v[k]);
+            }
+            k++;
+            v[k] = q;
+            z[k] = s;
+            z[k + 1] = INF;
+        }
+        k = 0;
+        for (int q = 0; q < n; q++) {
+            while (z[k + 1] < q) k++;
+            d[q] = (q - v[k]) * (q - v[k]) + f[v[k]];
+        }
+    }
+
+    @Override
+    public void dispose() {
+        if (packer != null) {
+            // The packer leaves pages that already have a texture alone, so those are disposed here
+            for (PixmapPacker.Page page : packer.getPages()) {
+                if (page.getTexture() != null) {
+                    page.getTexture().dispose();
+                }
+            }
+            packer.dispose();
+        }
+        for (Typeface typeface : typefaces) {
+            typeface.face.dispose();
+        }
+        if (library != null) {
+            library.dispose();
+        }
+        typefaces.clear();
+        glyphs.clear();
+    }
+}
@@ -1,27 +1,30 @@
 package io.github.avx20.M4TCH;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.Timer;
-import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 
-public class HomeScreen implements Screen {
+public class HomeScreen implements Screen, M4TCH.StaticScreen {
     private final M4TCH game;
     private Texture background;
-    private Texture playButtonTexture;
-    private Texture settingsButtonTexture;
-    private Texture leaderboardButtonTexture;
-    private Texture exitButtonTexture;
+    private TextureRegion playButtonTexture;
+    private TextureRegion settingsButtonTexture;
+    private TextureRegion leaderboardButtonTexture;
+    private TextureRegion exitButtonTexture;
     private Rectangle playButtonBounds;
     private Rectangle settingsButtonBounds;
     private Rectangle leaderboardButtonBounds;
     private Rectangle exitButtonBounds;
     private Viewport viewport;
+    private boolean disposed = false;
 
     // Variables for button click feedback
     private boolean isPlayButtonClicked = false;
@@ -31,18 +34,20 @@ public class HomeScreen implements Screen {
 
     public HomeScreen(M4TCH game) {
         this.game = game;
-        this.viewport = new FitViewport(1920, 1080);
-
-        // Load textures
-        this.background = new Texture("homescreen_bg.png");
-        this.playButtonTexture = new Texture("play_button.png");
-        this.settingsButtonTexture = new Texture("settings_icon.png");
-        this.leaderboardButtonTexture = new Texture("leaderboard_icon.png");
-        this.exitButtonTexture = new Texture("exit_button.png");
-
-        // Initialize button bounds
-        float playButtonWidth = playButtonTexture.getWidth();
-        float playButtonHeight = playButtonTexture.getHeight();
+        this.viewport = game.getRenderContext().getViewport();
+
+        // Load textures (buttons come from the shared UI atlas)
+        this.background = game.getAssets().texture(Assets.HOMESCREEN_BG);
+        TextureAtlas uiAtlas = game.getUiAtlas();
+        this.playButtonTexture = uiAtlas.findRegion("play_button");
+        this.settingsButtonTexture = uiAtlas.findRegion("settings_icon");
+        this.leaderboardButtonTexture = uiAtlas.findRegion("leaderboard_icon");
+        this.exitButtonTexture = uiAtlas.findRegion("exit_button");
+
+        // Initialize button bounds; sizes are in full-size texels, whichever variant of the atlas was loaded
+        float uiScale = game.getAssets().getTextureScale(Assets.UI_ATLAS);
+        float playButtonWidth = playButtonTexture.getRegionWidth() / uiScale;
+        float playButtonHeight = playButtonTexture.getRegionHeight() / uiScale;
         float centerX = (viewport.getWorldWidth() - playButtonWidth) / 2;
 
         // Play button (unchanged)
@@ -54,8 +59,8 @@ public class HomeScreen implements Screen {
         leaderboardButtonBounds = new Rectangle(5, 860, iconSize, iconSize);
 
         // Exit button
-        float exitButtonOriginalWidth = exitButtonTexture.getWidth();
-        float exitButtonOriginalHeight = exitButtonTexture.getHeight();
+        float exitButtonOriginalWidth = exitButtonTexture.getRegionWidth() / uiScale;
+        float exitButtonOriginalHeight = exitButtonTexture.getRegionHeight() / uiScale;
         float exitButtonNewWidth = exitButtonOriginalWidth * 0.3f; // Reduce width by 70%
         float exitButtonNewHeight = exitButtonOriginalHeight * 0.25f; // Reduce height by 75%
         exitButtonBounds = new Rectangle(1750, -18, exitButtonNewWidth, exitButtonNewHeight);
@@ -63,14 +68,14 @@ public class HomeScreen implements Screen {
 
     @Override
     public void render(float delta) {
-        viewport.apply();
-        SpriteBatch batch = game.getBatch();
-        batch.setProjectionMatrix(viewport.getCamera().combined);
+        SpriteBatch batch = game.getRenderContext().apply();
 
         batch.begin();
 
         // Draw the background
-        batch.draw(background, 0, 0, viewport.getWorldWidth(), viewport.getWorldHeight());
+        if (background != null) {
+            batch.draw(background, 0, 0, viewport.getWorldWidth(), viewport.getWorldHeight());
+        }
 
         // Draw buttons with click feedback
         drawButtonWithFeedback(batch, playButtonTexture, playButtonBounds, isPlayButtonClicked);
@@ -84,7 +89,7 @@ public class HomeScreen implements Screen {
         handleInput();
     }
 
-    private void drawButtonWithFeedback(SpriteBatch batch, Texture texture, Rectangle bounds, boolean isClicked) {
+    private void drawButtonWithFeedback(SpriteBatch batch, TextureRegion texture, Rectangle bounds, boolean isClicked) {
         float width = bounds.width;
         float height = bounds.height;
         float x = bounds.x;
@@ -103,6 +108,16 @@ public class HomeScreen implements Screen {
     }
 
     private void handleInput() {
+        // R watches the last round again; like PLAY, it goes through the loading screen for the game's assets
+        if (Gdx.input.isKeyJustPressed(Input.Keys.R)) {
+            Replay replay = game.loadLatestReplay();
+            if (replay != null) {
+                game.setScreen(new LoadingScreen(game, () -> game.playReplay(replay)));
+                dispose();
+            }
+            return;
+        }
+
         if (Gdx.input.justTouched()) {
             // Get screen coordinates
             float screenX = Gdx.input.getX();
@@ -123,7 +138,8 @@ public class HomeScreen implements Screen {
                             @Override
                             public void run() {
                                 // Use Loading Screen to transition to PlayScreen for smoother experience
-                                game.setScreen(new LoadingScreen(game, new PlayScreen(game)));
+                                game.setScreen(new LoadingScreen(game, game::startGame));
+                                dispose();
                             }
                         }, 0.1f); // Delay after the button returns to normal size
                     }
@@ -135,6 +151,7 @@ public class HomeScreen implements Screen {
                     public void run() {
                         isSettingsButtonClicked = false;
                         game.setScreen(new SettingScreen(game));
+                        dispose();
                     }
                 }, 0.1f);
             } else if (leaderboardButtonBounds.contains(worldX, worldY)) {
@@ -145,6 +162,7 @@ public class HomeScreen implements Screen {
                         isLeaderboardButtonClicked = false;
                         // Direct transition to LeaderboardScreen without LoadingScreen
                         game.setScreen(new LeaderboardScreen(game));
+                        dispose();
                     }
                 }, 0.1f);
             } else if (exitButtonBounds.contains(worldX, worldY)) {
@@ -162,7 +180,7 @@ public class HomeScreen implements Screen {
 
     @Override
     public void resize(int width, int height) {
-        viewport.update(width, height, true);
+        // The shared viewport is resized by M4TCH
     }
 
     @Override
@@ -179,11 +197,11 @@ public class HomeScreen implements Screen {
 
     @Override
     public void dispose() {
-        background.dispose();
-        playButtonTexture.dispose();
-        settingsButtonTexture.dispose();
-        leaderboardButtonTexture.dispose();
-        exitButtonTexture.dispose();
+        if (disposed) return;
+        disposed = true;
+
+        // Background goes back to the shared cache; button regions belong to the UI atlas held by M4TCH
+        game.getAssets().release(Assets.HOMESCREEN_BG);
     }
 }
 
@@ -0,0 +1,63 @@
+package io.github.avx20.M4TCH;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.StringBuilder;
+
+// "Label: value" counters drawn on top of a screen. Each field keeps its text laid out in its own BitmapFontCache
+// and only lays it out again when the integer it shows changes, which happens a few times a second at most;
+// every other frame just copies the cached vertices into the batch. The text is written into one reused char
+// buffer, so updating a field doesn't build a String either.
+public class Hud {
+    private final BitmapFont font;
+    private final StringBuilder text = new StringBuilder(32);
+    private final Array<Field> fields = new Array<>();
+
+    public class Field {
+        private final String label;
+        private final float x;
+        private final float y;
+        private final BitmapFontCache cache;
+        private int value;
+        private boolean laidOut = false;
+
+        private Field(String label, float x, float y) {
+            this.label = label;
+            this.x = x;
+            this.y = y;
+            this.cache = font.newFontCache();
+        }
+
+        public void draw(Batch batch, int value) {
+            if (!laidOut || value != this.value) {
+                this.value = value;
+                laidOut = true;
+                text.setLength(0);
+                text.append(label).append(value);
+                cache.setColor(font.getColor());
+                cache.setText(text, x, y);
+            }
+            cache.draw(batch);
+        }
+    }
+
+    // The font is shared (see FontService); its color at layout time is the color the fields are drawn in
+    public Hud(BitmapFont font) {
+        this.font = font;
+    }
+
+    public Field add(String label, float x, float y) {
+        Field field = new Field(label, x, y);
+        fields.add(field);
+        return field;
+    }
+
+    // Forces every field to lay out again, e.g. after the font's color changed
+    public void invalidate() {
+        for (Field field : fields) {
+            field.laidOut = false;
+        }
+    }
+}
@@ -9,13 +9,11 @@ import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Json;
 import com.badlogic.gdx.utils.JsonReader;
 import com.badlogic.gdx.utils.JsonValue;
 import com.badlogic.gdx.utils.JsonWriter;
-import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import com.badlogic.gdx.files.FileHandle;
 
@@ -23,7 +21,7 @@ import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.Random;
 
-public class LeaderboardScreen implements Screen {
+public class LeaderboardScreen implements Screen, M4TCH.StaticScreen {
     private final M4TCH game;
     private SpriteBatch batch;
     private Viewport viewport;
@@ -63,65 +61,22 @@ public class LeaderboardScreen implements Screen {
         this.random = new Random();
 
         // Initialize
-        batch = new SpriteBatch();
-        viewport = new FitViewport(1920, 1080);
+        batch = game.getBatch();
+        viewport = game.getRenderContext().getViewport();
         layout = new GlyphLayout();
 
-        // Load textures
-        try {
-            backgroundTexture = new Texture(Gdx.files.internal("game_bg.png"));
-            leaderboardFrameTexture = new Texture("leaderboard_frame.png");
-        } catch (Exception e) {
-            Gdx.app.error("LeaderboardScreen", "Error loading textures", e);
-        }
+        // Textures were preloaded by LoadingScreen; fonts are shared through FontService
+        Assets assets = game.getAssets();
+        FontService fonts = game.getFonts();
+        backgroundTexture = assets.texture(Assets.GAME_BG);
+        leaderboardFrameTexture = assets.texture(Assets.LEADERBOARD_FRAME);
 
-        // Initialize fonts using the correct font path
-        try {
-            // Use FreeTypeFontGenerator for better font rendering if available
-            FreeTypeFontGenerator generator = new FreeTypeFontGenerator(Gdx.files.internal("font.ttf"));
-
-            // For title font (largest)
-            FreeTypeFontGenerator.FreeTypeFontParameter titleParams = new FreeTypeFontGenerator.FreeTypeFontParameter();
-            titleParams.size = 64; // Increased base size
-            titleParams.color = Color.WHITE;
-            titleFont = generator.generateFont(titleParams);
-            titleFont.getData().setScale(1.5f); // Reduced scale from 4.0f to 1.5f
-
-            // For entry font (medium)
-            FreeTypeFontGenerator.FreeTypeFontParameter entryParams = new FreeTypeFontGenerator.FreeTypeFontParameter();
-            entryParams.size = 36;
-            entryParams.color = Color.YELLOW;
-            entryFont = generator.generateFont(entryParams);
-            entryFont.getData().setScale(1.2f); // Reduced scale from 2.5f to 1.2f
-
-            // For "no scores" font (smaller)
-            FreeTypeFontGenerator.FreeTypeFontParameter noScoresParams = new FreeTypeFontGenerator.FreeTypeFontParameter();
-            noScoresParams.size = 30;
-            noScoresParams.color = Color.GRAY;
-            noScoresFont = generator.generateFont(noScoresParams);
-            noScoresFont.getData().setScale(1.0f); // Reduced scale from 2.0f to 1.0f
-
-            // Dispose generator after use
-            generator.dispose();
-
-            Gdx.app.log("LeaderboardScreen", "Custom font loaded successfully");
-        } catch (Exception e) {
-            Gdx.app.error("LeaderboardScreen", "Error loading custom font: " + e.getMessage(), e);
-            // Fallback to default bitmap font if custom font fails
-            titleFont = new BitmapFont();
-            titleFont.getData().setScale(1.5f);
-            titleFont.setColor(Color.WHITE);
-
-            entryFont = new BitmapFont();
-            entryFont.getData().setScale(1.2f);
-            entryFont.setColor(Color.YELLOW);
+        titleFont = fonts.get(96, Color.WHITE);
+        titleFont.setColor(Color.WHITE);
 
-            noScoresFont = new BitmapFont();
-            noScoresFont.getData().setScale(1.0f);
-            noScoresFont.setColor(Color.GRAY);
+        entryFont = fonts.get(43, Color.YELLOW);
 
-            Gdx.app.log("LeaderboardScreen", "Using default font as fallback");
-        }
+        noScoresFont = fonts.get(30, Color.GRAY);
 
         // Load leaderboard entries - 现在使用修改后的加载方法
         leaderboardEntries = loadLeaderboardEntries();
@@ -287,8 +242,7 @@ public class LeaderboardScreen implements Screen {
         Gdx.gl.glClearColor(0.1f, 0.1f, 0.2f, 1);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 
-        viewport.apply();
-        batch.setProjectionMatrix(viewport.getCamera().combined);
+        game.getRenderContext().apply();
 
         batch.begin();
 
@@ -431,17 +385,15 @@ public class LeaderboardScreen implements Screen {
 
     @Override
     public void resize(int width, int height) {
-        viewport.update(width, height, true);
+        // The shared viewport is resized by M4TCH
     }
 
     @Override
     public void dispose() {
-        batch.dispose();
-        if (backgroundTexture != null) backgroundTexture.dispose();
-        if (leaderboardFrameTexture != null) leaderboardFrameTexture.dispose();
-        titleFont.dispose();
-        entryFont.dispose();
-        noScoresFont.dispose();
+        // Textures go back to the shared cache; the fonts stay with FontService
+        Assets assets = game.getAssets();
+        assets.release(Assets.GAME_BG);
+        assets.release(Assets.LEADERBOARD_FRAME);
     }
 
     // Helper class for leaderboard entries (enhanced with timestamp)
@@ -3,24 +3,21 @@ package io.github.avx20.M4TCH;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
 import com.badlogic.gdx.math.Interpolation;
-import com.badlogic.gdx.scenes.scene2d.ui.Skin;
-import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 
-import java.io.File;
-
 public class LoadingScreen implements Screen {
     private M4TCH game;
     private SpriteBatch batch;
+    private Assets assets;
 
-    // Loading screen assets
+    // Loading screen assets (loaded before this screen is created, see Assets.queueLoadingScreen)
     private Texture backgroundTexture;
     private Texture loadingFrameTexture;
     private Texture loadingBarTexture;
@@ -29,15 +26,16 @@ public class LoadingScreen implements Screen {
     private BitmapFont loadingFont;
     private BitmapFont titleFont; // Font for the title
     private BitmapFont skipFont; // Font for the skip message
-    private Skin uiSkin;
     private GlyphLayout glyphLayout;
 
     private Viewport viewport;
 
+    private static final Color LOADING_YELLOW = new Color(1f, 0.9f, 0f, 1f);
+
     private float progress = 0f;
-    private float loadingTime = 0f;
-    private static final float LOADING_DURATION = 10f; // Extended loading time to 10 seconds (from 5s)
-    private Screen nextScreen;
+    // Time budget per frame for Assets.update, so the progress bar keeps animating while loading
+    private static final int LOAD_BUDGET_MILLIS = 12;
+    private final Runnable onLoaded;
 
     // Loading stages
     private String[] loadingStages = {
@@ -55,209 +53,40 @@ public class LoadingScreen implements Screen {
     private boolean fadeIn = true;
     private float fadeSpeed = 1.5f; // Controls how fast the skip message fades in/out
 
-    public LoadingScreen(M4TCH game, Screen nextScreen) {
+    // onLoaded runs once every queued asset is available; it is expected to switch screens
+    public LoadingScreen(M4TCH game, Runnable onLoaded) {
         this.game = game;
-        this.nextScreen = nextScreen;
+        this.onLoaded = onLoaded;
+        this.assets = game.getAssets();
 
-        // Create a viewport to handle different screen sizes
-        this.viewport = new FitViewport(1920, 1080);
+        // The shared viewport handles different screen sizes
+        this.viewport = game.getRenderContext().getViewport();
 
         // Initialize resources
-        batch = new SpriteBatch();
+        batch = game.getBatch();
         glyphLayout = new GlyphLayout(); // Initialize GlyphLayout
 
-        try {
-            // Determine the correct path to assets
-            String assetsPath = determineAssetsPath();
-
-            // Try loading assets with flexible paths
-            backgroundTexture = loadTextureWithFallbacks("game_bg.png", assetsPath);
-            if (backgroundTexture != null) {
-                Gdx.app.log("LoadingScreen", "Successfully loaded background texture");
-            } else {
-                Gdx.app.error("LoadingScreen", "Failed to load background texture");
-            }
-
-            // Load the tutorial images
-            instructionsImage1Texture = loadTextureWithFallbacks("Loading1.png", assetsPath);
-            if (instructionsImage1Texture != null) {
-                Gdx.app.log("LoadingScreen", "Successfully loaded Loading1.png");
-            } else {
-                Gdx.app.error("LoadingScreen", "Failed to load Loading1.png");
-            }
-
-            instructionsImage2Texture = loadTextureWithFallbacks("Loading2.png", assetsPath);
-            if (instructionsImage2Texture != null) {
-                Gdx.app.log("LoadingScreen", "Successfully loaded Loading2.png");
-            } else {
-                Gdx.app.error("LoadingScreen", "Failed to load Loading2.png");
-            }
-
-            // Load loading bar textures
-            loadingBarTexture = loadTextureWithFallbacks("loading_bar.png", assetsPath);
-            loadingFrameTexture = loadTextureWithFallbacks("loading_frame.png", assetsPath);
-
-            // Load the custom font.ttf file
-            try {
-                // Try different paths for the font file
-                String fontPath = "C:\\Users\\hua16\\Desktop\\M4TCH\\core\\assets\\font.ttf";
-                if (!new File(fontPath).exists()) {
-                    // Try alternative paths
-                    String[] fontPaths = {
-                        assetsPath + File.separator + "font.ttf",
-                        "font.ttf",
-                        "assets/font.ttf",
-                        "core/assets/font.ttf"
-                    };
-
-                    for (String path : fontPaths) {
-                        if (new File(path).exists() || Gdx.files.internal(path).exists()) {
-                            fontPath = path;
-                            break;
-                        }
-                    }
-                }
-
-                Gdx.app.log("LoadingScreen", "Attempting to load font from: " + fontPath);
-
-                // Generate fonts using FreeType
-                FreeTypeFontGenerator generator = new FreeTypeFontGenerator(Gdx.files.absolute(fontPath));
-                FreeTypeFontGenerator.FreeTypeFontParameter parameter = new FreeTypeFontGenerator.FreeTypeFontParameter();
-
-                // Configure font for loading text - YELLOW
-                parameter.size = 36; // Larger font size for loading text
-                parameter.color.set(1f, 0.9f, 0f, 1f); // Yellow color
-                loadingFont = generator.generateFont(parameter);
-
-                // Configure font for title text - YELLOW
-                parameter.size = 48; // Larger font size for title
-                parameter.color.set(1f, 0.9f, 0f, 1f); // Yellow color
-                titleFont = generator.generateFont(parameter);
-
-                // Configure font for skip message - YELLOW (slightly smaller)
-                parameter.size = 32;
-                parameter.color.set(1f, 0.9f, 0f, 1f); // Yellow color
-                skipFont = generator.generateFont(parameter);
-
-                generator.dispose(); // Clean up the generator
-            } catch (Exception e) {
-                Gdx.app.error("LoadingScreen", "Error loading custom font: " + e.getMessage(), e);
-                // Fallback to default font - WITH YELLOW COLOR
-                loadingFont = new BitmapFont();
-                loadingFont.getData().setScale(2f);
-                loadingFont.setColor(1f, 0.9f, 0f, 1f); // Yellow color
-
-                titleFont = new BitmapFont();
-                titleFont.getData().setScale(3f);
-                titleFont.setColor(1f, 0.9f, 0f, 1f); // Yellow color
-
-                skipFont = new BitmapFont();
-                skipFont.getData().setScale(1.8f);
-                skipFont.setColor(1f, 0.9f, 0f, 1f); // Yellow color
-            }
+        backgroundTexture = assets.texture(Assets.GAME_BG);
+        instructionsImage1Texture = assets.texture(Assets.LOADING_IMAGE_1);
+        instructionsImage2Texture = assets.texture(Assets.LOADING_IMAGE_2);
+        loadingBarTexture = assets.texture(Assets.LOADING_BAR);
+        loadingFrameTexture = assets.texture(Assets.LOADING_FRAME);
 
-            // Load UI Skin with flexible paths (fallback)
-            try {
-                uiSkin = new Skin(Gdx.files.absolute(assetsPath + File.separator + "uiskin.atlas"));
-            } catch (Exception e) {
-                Gdx.app.error("LoadingScreen", "Error loading skin: " + e.getMessage());
-            }
+        FontService fonts = game.getFonts();
+        loadingFont = fonts.get(36, LOADING_YELLOW);
+        titleFont = fonts.get(48, LOADING_YELLOW);
+        skipFont = fonts.get(32, LOADING_YELLOW);
 
-        } catch (Exception e) {
-            Gdx.app.error("LoadingScreen", "Error loading loading screen assets: " + e.getMessage(), e);
-            // Fallback to default font if everything fails - WITH YELLOW COLOR
-            loadingFont = new BitmapFont();
-            loadingFont.getData().setScale(2f);
-            loadingFont.setColor(1f, 0.9f, 0f, 1f); // Yellow color
-
-            titleFont = new BitmapFont();
-            titleFont.getData().setScale(3f);
-            titleFont.setColor(1f, 0.9f, 0f, 1f); // Yellow color
-
-            skipFont = new BitmapFont();
-            skipFont.getData().setScale(1.8f);
-            skipFont.setColor(1f, 0.9f, 0f, 1f); // Yellow color
-        }
-    }
-
-    private Texture loadTextureWithFallbacks(String filename, String basePath) {
-        // Try various combinations of paths to find the texture
-        String[] pathPrefixes = {
-            "", // No prefix (direct path)
-            basePath + File.separator,
-            basePath + File.separator + "images" + File.separator,
-            basePath + File.separator + "textures" + File.separator,
-            basePath + File.separator + "backgrounds" + File.separator,
-            "core/assets/",
-            "../core/assets/",
-            "core/assets/images/",
-            "core/assets/textures/",
-            "core/assets/backgrounds/",
-            "assets/",
-            "assets/images/",
-            "assets/textures/",
-            "assets/backgrounds/"
-        };
-
-        for (String prefix : pathPrefixes) {
-            try {
-                String path = prefix + filename;
-                Gdx.app.log("LoadingScreen", "Trying to load texture from: " + path);
-
-                // Try internal files first
-                if (Gdx.files.internal(path).exists()) {
-                    Gdx.app.log("LoadingScreen", "Found texture at: " + path);
-                    return new Texture(Gdx.files.internal(path));
-                }
-
-                // Try absolute path as fallback
-                if (Gdx.files.absolute(path).exists()) {
-                    Gdx.app.log("LoadingScreen", "Found texture at absolute path: " + path);
-                    return new Texture(Gdx.files.absolute(path));
-                }
-            } catch (Exception e) {
-                // Try next path
-                Gdx.app.log("LoadingScreen", "Failed to load from " + prefix + filename + ": " + e.getMessage());
-            }
-        }
-
-        Gdx.app.error("LoadingScreen", "Could not load texture: " + filename);
-        return null;
-    }
-
-    private String determineAssetsPath() {
-        // Try multiple potential paths
-        String[] possiblePaths = {
-            "C:\\Users\\hua16\\Desktop\\M4TCH\\core\\assets", // Direct path specified in requirements
-            "core/assets",
-            "../core/assets",
-            "M4TCH(2)/core/assets",
-            "../M4TCH(2)/core/assets",
-            "assets",
-            "../assets",
-            "." // Current directory as last resort
-        };
-
-        for (String path : possiblePaths) {
-            File assetsDir = new File(path);
-            if (assetsDir.exists() && assetsDir.isDirectory()) {
-                Gdx.app.log("LoadingScreen", "Found assets directory at: " + assetsDir.getAbsolutePath());
-                return assetsDir.getAbsolutePath();
-            }
-        }
-
-        // If no path is found, log an error
-        Gdx.app.error("LoadingScreen", "Could not find assets directory");
-        return "."; // Fallback to current directory
+        // Stream in everything else, including anything the cache evicted since the last visit
+        assets.queueGame();
     }
 
     @Override
     public void render(float delta) {
-        // Check for space bar input to skip
+        // SPACE stops showing progress and finishes the remaining queue in one go
         if (Gdx.input.isKeyJustPressed(Input.Keys.SPACE)) {
-            // Skip directly to play screen
-            game.setScreen(nextScreen);
-            dispose(); // Clean up resources
+            assets.finishLoading();
+            finish();
             return;
         }
 
@@ -268,18 +97,16 @@ public class LoadingScreen implements Screen {
         Gdx.gl.glClearColor(0, 0, 0, 1);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 
-        // Update loading progress and time
-        loadingTime += delta;
-        progress = Math.min(loadingTime / LOADING_DURATION, 1f);
+        // Update loading progress from the real asset queue
+        boolean loaded = assets.update(LOAD_BUDGET_MILLIS);
+        progress = loaded ? 1f : assets.getProgress();
 
         // Update loading stage
         currentStage = (int)(progress * loadingStages.length);
         currentStage = Math.min(currentStage, loadingStages.length - 1);
 
-        // Apply viewport
-        viewport.apply();
-
-        batch.setProjectionMatrix(viewport.getCamera().combined);
+        // Apply the shared viewport
+        game.getRenderContext().apply();
         batch.begin();
 
         // Draw background
@@ -302,13 +129,20 @@ public class LoadingScreen implements Screen {
 
         batch.end();
 
-        // Switch to next screen when loading is complete
-        if (progress >= 1) {
-            game.setScreen(nextScreen);
-            dispose(); // Clean up resources
+        // Switch to next screen as soon as everything is loaded
+        if (loaded) {
+            finish();
         }
     }
 
+    private void finish() {
+        StreamingTextureLoader textures = assets.getTextureLoader();
+        Gdx.app.log("LoadingScreen", "Assets loaded (" + assets.getLoadedCount() + " total), "
+            + textures.getFramesOverBudget() + " of " + textures.getUploadFrames() + " upload frames over budget");
+        onLoaded.run();
+        dispose(); // Clean up resources
+    }
+
     private void updateSkipMessageFade(float delta) {
         // Update alpha value for fading effect
         if (fadeIn) {
@@ -495,23 +329,17 @@ public class LoadingScreen implements Screen {
 
     @Override
     public void resize(int width, int height) {
-        viewport.update(width, height, true);
+        // The shared viewport is resized by M4TCH
     }
 
     @Override
     public void dispose() {
-        batch.dispose();
-
-        // Safely dispose of textures and font
-        if (backgroundTexture != null) backgroundTexture.dispose();
-        if (loadingFrameTexture != null) loadingFrameTexture.dispose();
-        if (loadingBarTexture != null) loadingBarTexture.dispose();
-        if (instructionsImage1Texture != null) instructionsImage1Texture.dispose();
-        if (instructionsImage2Texture != null) instructionsImage2Texture.dispose();
-        if (loadingFont != null) loadingFont.dispose();
-        if (titleFont != null) titleFont.dispose();
-        if (skipFont != null) skipFont.dispose();
-        if (uiSkin != null) uiSkin.dispose();
+        // Textures go back to the shared cache; the fonts stay with FontService
+        assets.release(Assets.GAME_BG);
+        assets.release(Assets.LOADING_IMAGE_1);
+        assets.release(Assets.LOADING_IMAGE_2);
+        assets.release(Assets.LOADING_BAR);
+        assets.release(Assets.LOADING_FRAME);
     }
 
     // Placeholder methods for Screen interface
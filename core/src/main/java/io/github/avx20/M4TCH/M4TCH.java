@@ -5,13 +5,22 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Graphics;
 import com.badlogic.gdx.Preferences;
 import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.utils.viewport.ScreenViewport;
-import com.badlogic.gdx.utils.viewport.Viewport;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
 
 public class M4TCH extends Game {
-    private SpriteBatch batch;
-    private Viewport viewport;
+    private RenderContext renderContext;
+    private Assets assets;
+    private FontService fonts;
+    private TileAtlas tileAtlas;
+    private TextureAtlas uiAtlas;
+    private ParticleSystem particles;
     private PlayScreen playScreen;
     private PauseMenu pauseMenu;
     private HomeScreen homeScreen;
@@ -21,23 +30,52 @@ public class M4TCH extends Game {
     // Global volume setting
     public static float gameVolume = 0.5f;
 
+    // GPU memory the ResourceCache may keep resident before evicting unused textures and fonts
+    private static final int DEFAULT_TEXTURE_BUDGET_MB = 96;
+    private int textureBudgetMb = DEFAULT_TEXTURE_BUDGET_MB;
+    // Texture data the loading screen may upload to the GPU per frame
+    private static final int DEFAULT_UPLOAD_BUDGET_KB = 4096;
+    private int uploadBudgetKb = DEFAULT_UPLOAD_BUDGET_KB;
+    // Off unless set in the preferences: lets the render scale drop to renderScaleFloor to hold 60 FPS
+    private static final float DEFAULT_RENDER_SCALE_FLOOR = 0.5f;
+    private static final int TARGET_FPS = 60;
+    private boolean dynamicResolution = false;
+    private float renderScaleFloor = DEFAULT_RENDER_SCALE_FLOOR;
+    // Board dimensions for new rounds, e.g. 6 or 8 for the larger modes
+    private int boardRows = GameModel.DEFAULT_ROWS;
+    private int boardCols = GameModel.DEFAULT_COLS;
+    // Every round is recorded (see ReplayRecorder) and the last MAX_REPLAYS are kept in REPLAY_DIR
+    public static final String REPLAY_DIR = "replays";
+    private static final int MAX_REPLAYS = 20;
+    private boolean recordReplays = true;
+    private boolean compressReplays = true;
+
     @Override
     public void create() {
         // Load volume setting from preferences
         loadSettings();
         previousVolume = gameVolume;
 
-        batch = new SpriteBatch();
-        viewport = new ScreenViewport();
+        renderContext = new RenderContext();
 
         Graphics.DisplayMode displayMode = Gdx.graphics.getDisplayMode();
         Gdx.graphics.setFullscreenMode(displayMode);
+        if (dynamicResolution) {
+            renderContext.enableDynamicResolution(renderScaleFloor, TARGET_FPS);
+        }
 
-        homeScreen = new HomeScreen(this);
-        playScreen = new PlayScreen(this);
-        pauseMenu = new PauseMenu(this, playScreen);
+        // The loading screen's own assets are loaded up front, everything else streams in behind it.
+        // Textures come in at the size the back buffer actually shows them, which the build provides variants for.
+        float textureScale = Assets.textureScaleFor(Gdx.graphics.getBackBufferWidth(), Gdx.graphics.getBackBufferHeight());
+        assets = new Assets(textureBudgetMb * 1024L * 1024L, uploadBudgetKb * 1024L, textureScale);
+        assets.queueLoadingScreen();
+        assets.finishLoading();
+        fonts = new FontService(assets);
 
-        setScreen(homeScreen);
+        setScreen(new LoadingScreen(this, () -> {
+            homeScreen = new HomeScreen(this);
+            setScreen(homeScreen);
+        }));
 
         Gdx.app.log("M4TCH", "Game initialized with volume: " + gameVolume);
     }
@@ -46,6 +84,14 @@ public class M4TCH extends Game {
     private void loadSettings() {
         Preferences prefs = Gdx.app.getPreferences("M4TCHSettings");
         gameVolume = prefs.getFloat("volume", 0.5f); // Default 0.5 if not set
+        textureBudgetMb = Math.max(16, prefs.getInteger("textureBudgetMb", DEFAULT_TEXTURE_BUDGET_MB));
+        uploadBudgetKb = Math.max(256, prefs.getInteger("uploadBudgetKb", DEFAULT_UPLOAD_BUDGET_KB));
+        dynamicResolution = prefs.getBoolean("dynamicResolution", false);
+        renderScaleFloor = Math.max(0.25f, Math.min(1f, prefs.getFloat("renderScaleFloor", DEFAULT_RENDER_SCALE_FLOOR)));
+        boardRows = Math.max(GameModel.MIN_SIZE, Math.min(GameModel.MAX_SIZE, prefs.getInteger("boardRows", GameModel.DEFAULT_ROWS)));
+        boardCols = Math.max(GameModel.MIN_SIZE, Math.min(GameModel.MAX_SIZE, prefs.getInteger("boardCols", GameModel.DEFAULT_COLS)));
+        recordReplays = prefs.getBoolean("recordReplays", true);
+        compressReplays = prefs.getBoolean("compressReplays", true);
 
         // Ensure valid volume range
         if (gameVolume < 0.01f) {
@@ -62,7 +108,9 @@ public class M4TCH extends Game {
             previousVolume = gameVolume;
             notifyVolumeChange();
         }
+        renderContext.beginFrame(Gdx.graphics.getDeltaTime());
         super.render();
+        renderContext.endFrame();
     }
 
     // Notify all applicable screens of volume change
@@ -78,9 +126,24 @@ public class M4TCH extends Game {
         void onVolumeChanged(float newVolume);
     }
 
+    // Marks screens whose picture only changes in response to something: input, a Timer task, or a call to
+    // Gdx.graphics.requestRendering() from a running animation. While one is shown the game stops rendering
+    // continuously; the backend draws a frame for every input event and posted runnable (Timer tasks included),
+    // so idle menus cost next to nothing. Every other screen renders continuously.
+    public interface StaticScreen {
+    }
+
+    @Override
+    public void setScreen(Screen screen) {
+        super.setScreen(screen);
+        Gdx.graphics.setContinuousRendering(!(screen instanceof StaticScreen));
+        // Draw the new screen at least once, whatever its policy
+        Gdx.graphics.requestRendering();
+    }
+
     @Override
     public void resize(int width, int height) {
-        viewport.update(width, height, true);
+        renderContext.resize(width, height);
         if (getScreen() != null) {
             getScreen().resize(width, height);
         }
@@ -88,17 +151,113 @@ public class M4TCH extends Game {
 
     @Override
     public void dispose() {
-        batch.dispose();
         if (playScreen != null) playScreen.dispose();
         if (pauseMenu != null) pauseMenu.dispose();
         if (homeScreen != null) homeScreen.dispose();
+        if (particles != null) particles.dispose();
+        fonts.dispose();
+        assets.dispose();
+        renderContext.dispose();
+    }
+
+    public RenderContext getRenderContext() {
+        return renderContext;
+    }
+
+    public int getBoardRows() {
+        return boardRows;
+    }
+
+    public int getBoardCols() {
+        return boardCols;
+    }
+
+    public boolean isRecordReplays() {
+        return recordReplays;
+    }
+
+    // Writes a finished recording to local storage as replay-<time>.m4r, dropping the oldest beyond MAX_REPLAYS.
+    // A replay that can't be written is logged and lost; it never interrupts the game.
+    public void saveReplay(ReplayRecorder recorder) {
+        FileHandle dir = Gdx.files.local(REPLAY_DIR);
+        FileHandle file = dir.child("replay-" + System.currentTimeMillis() + ".m4r");
+        try (OutputStream out = file.write(false)) {
+            recorder.writeTo(out, compressReplays);
+        } catch (IOException | GdxRuntimeException e) {
+            Gdx.app.error("M4TCH", "Could not save replay " + file.path(), e);
+            return;
+        }
+        Gdx.app.log("M4TCH", "Saved replay " + file.path() + " (" + file.length() + " bytes)");
+
+        FileHandle[] saved = dir.list(".m4r");
+        if (saved.length > MAX_REPLAYS) {
+            // Named by time, so name order is age order
+            Arrays.sort(saved, (a, b) -> a.name().compareTo(b.name()));
+            for (int i = 0; i < saved.length - MAX_REPLAYS; i++) {
+                saved[i].delete();
+            }
+        }
+    }
+
+    // The most recently saved replay, or null if there is none or it can't be read
+    public Replay loadLatestReplay() {
+        FileHandle[] saved = Gdx.files.local(REPLAY_DIR).list(".m4r");
+        if (saved.length == 0) {
+            return null;
+        }
+        Arrays.sort(saved, (a, b) -> a.name().compareTo(b.name()));
+        FileHandle latest = saved[saved.length - 1];
+        try {
+            return Replay.read(latest.readBytes());
+        } catch (IOException | GdxRuntimeException e) {
+            Gdx.app.error("M4TCH", "Could not read replay " + latest.path(), e);
+            return null;
+        }
+    }
+
+    public void playReplay(Replay replay) {
+        setScreen(new ReplayScreen(this, replay));
     }
 
     public SpriteBatch getBatch() {
-        return batch;
+        return renderContext.getBatch();
+    }
+
+    public Assets getAssets() {
+        return assets;
+    }
+
+    public FontService getFonts() {
+        return fonts;
+    }
+
+    public TileAtlas getTileAtlas() {
+        if (tileAtlas == null) {
+            tileAtlas = new TileAtlas(assets.atlas(Assets.TILES_ATLAS));
+        }
+        return tileAtlas;
+    }
+
+    // Built on first use, once LoadingScreen has loaded the effects; kept for the session so no game allocates them
+    public ParticleSystem getParticles() {
+        if (particles == null) {
+            particles = new ParticleSystem(assets, getTileAtlas());
+        }
+        return particles;
+    }
+
+    // The tile and UI atlases are used by nearly every screen, so M4TCH holds them for the whole session
+    public TextureAtlas getUiAtlas() {
+        if (uiAtlas == null) {
+            uiAtlas = assets.atlas(Assets.UI_ATLAS);
+        }
+        return uiAtlas;
     }
 
     public void startGame() {
+        if (playScreen != null) {
+            playScreen.dispose(); // No-op if it already ended
+        }
         playScreen = new PlayScreen(this);
         setScreen(playScreen);
         paused = false;
@@ -109,7 +268,15 @@ public class M4TCH extends Game {
         if (playScreen != null) {
             playScreen.pauseGame();
         }
-        setScreen(pauseMenu);
+        setScreen(getPauseMenu());
+    }
+
+    // One pause menu for the whole session; it always acts on the current PlayScreen
+    public PauseMenu getPauseMenu() {
+        if (pauseMenu == null) {
+            pauseMenu = new PauseMenu(this);
+        }
+        return pauseMenu;
     }
 
     public void resumeGame() {
@@ -0,0 +1,147 @@
+package io.github.avx20.M4TCH;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.ParticleEffect;
+import com.badlogic.gdx.graphics.g2d.ParticleEffectPool;
+import com.badlogic.gdx.graphics.g2d.ParticleEffectPool.PooledEffect;
+import com.badlogic.gdx.graphics.g2d.ParticleEmitter;
+import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.IntArray;
+
+// Match, star and combo bursts. Every effect instance is created, and its particles allocated, when the system is
+// built, so spawning during play allocates nothing. Their sprites are a region of the tile atlas page and they
+// blend like everything else, so all live particles go out in one batch flush.
+// At most MAX_PARTICLES can be alive at once: an effect that could take the total over retires the oldest first.
+public class ParticleSystem implements Disposable {
+    public enum Type {
+        MATCH(Assets.FX_MATCH, 8),
+        STAR(Assets.FX_STAR, 4),
+        COMBO(Assets.FX_COMBO, 4);
+
+        final String asset;
+        final int instances; // Pre-allocated; spawning more than this retires the oldest of the type
+
+        Type(String asset, int instances) {
+            this.asset = asset;
+            this.instances = instances;
+        }
+    }
+
+    private static final int MAX_PARTICLES = 256;
+
+    private final Assets assets;
+    private final ParticleEffectPool[] pools = new ParticleEffectPool[Type.values().length];
+    private final int[] budgets = new int[Type.values().length]; // Most particles one effect can have alive
+    // Oldest first, so going over the cap retires what has been on screen longest
+    private final Array<PooledEffect> live = new Array<>(true, 32);
+    private final IntArray liveTypes = new IntArray(true, 32);
+    private int liveBudget = 0;
+
+    public ParticleSystem(Assets assets, TileAtlas tileAtlas) {
+        this.assets = assets;
+        Texture page = tileAtlas.getTexture();
+        for (Type type : Type.values()) {
+            ParticleEffect template = assets.particleEffect(type.asset);
+            for (ParticleEmitter emitter : template.getEmitters()) {
+                for (Sprite sprite : emitter.getSprites()) {
+                    if (sprite.getTexture() != page) {
+                        throw new IllegalStateException("Effect '" + type.asset + "' uses an image that is not on the tile page");
+                    }
+                }
+                budgets[type.ordinal()] += emitter.getMaxParticleCount();
+            }
+            ParticleEffectPool pool = new ParticleEffectPool(template, type.instances, type.instances);
+            Array<PooledEffect> warm = new Array<>(type.instances);
+            for (int i = 0; i < type.instances; i++) {
+                PooledEffect effect = pool.obtain();
+                effect.preAllocateParticles();
+                warm.add(effect);
+            }
+            pool.freeAll(warm);
+            pools[type.ordinal()] = pool;
+        }
+        Gdx.app.log("ParticleSystem", "Pre-allocated " + Type.values().length + " effect types, cap "
+            + MAX_PARTICLES + " particles");
+    }
+
+    // Starts an effect centered on (x, y), tinted (null keeps the effect's own colors) and scaled in size and
+    // motion by scale
+    public void spawn(Type type, float x, float y, Color tint, float scale) {
+        int budget = budgets[type.ordinal()];
+        if (budget > MAX_PARTICLES) {
+            return;
+        }
+        while (liveBudget + budget > MAX_PARTICLES) {
+            retire(0);
+        }
+        ParticleEffectPool pool = pools[type.ordinal()];
+        if (pool.getFree() == 0) {
+            retire(liveTypes.indexOf(type.ordinal()));
+        }
+
+        PooledEffect effect = pool.obtain();
+        if (tint != null) {
+            for (ParticleEmitter emitter : effect.getEmitters()) {
+                float[] colors = emitter.getTint().getColors();
+                for (int i = 0; i + 2 < colors.length; i += 3) {
+                    colors[i] = tint.r;
+                    colors[i + 1] = tint.g;
+                    colors[i + 2] = tint.b;
+                }
+            }
+        }
+        if (scale != 1f) {
+            effect.scaleEffect(scale); // Undone by the pool when the effect is freed
+        }
+        effect.setPosition(x, y);
+        effect.start();
+        live.add(effect);
+        liveTypes.add(type.ordinal());
+        liveBudget += budget;
+    }
+
+    public void update(float delta) {
+        for (int i = live.size - 1; i >= 0; i--) {
+            PooledEffect effect = live.get(i);
+            effect.update(delta);
+            if (effect.isComplete()) {
+                retire(i);
+            }
+        }
+    }
+
+    // Call between begin() and end() with the world projection
+    public void draw(Batch batch) {
+        for (int i = 0; i < live.size; i++) {
+            live.get(i).draw(batch);
+        }
+    }
+
+    // Ends every live effect, e.g. when the board they belong to goes away
+    public void clear() {
+        while (live.size > 0) {
+            retire(live.size - 1);
+        }
+    }
+
+    private void retire(int index) {
+        liveBudget -= budgets[liveTypes.get(index)];
+        live.get(index).free();
+        live.removeIndex(index);
+        liveTypes.removeIndex(index);
+    }
+
+    @Override
+    public void dispose() {
+        clear();
+        for (Type type : Type.values()) {
+            pools[type.ordinal()].clear();
+            assets.release(type.asset);
+        }
+    }
+}
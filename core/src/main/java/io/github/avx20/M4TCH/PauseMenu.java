@@ -4,27 +4,32 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.viewport.Viewport;
 
 public class PauseMenu implements Screen, M4TCH.VolumeChangeListener {
 
     private boolean isPaused = true;
-    private BitmapFont font;
     private SpriteBatch batch;
-    private Texture background, resume_button, restart_button, settings_icon, mainmenu_button;
+    private Viewport viewport;
+    private final Vector3 touchPoint = new Vector3();
+    private TextureRegion resume_button, restart_button, settings_icon, mainmenu_button;
     private Rectangle resumeBounds, restartBounds, settingsBounds, mainMenuBounds;
     private M4TCH game;
-    private PlayScreen playScreen;
 
 
     private static final int BUTTON_SPACING = 40;
     private static final float SCALE_DOWN = 0.9f;
     private static final float SCALE_SPEED = 5f;
     private static final float CLICK_ANIMATION_DURATION = 0.5f;
+    // How much the captured game frame behind the buttons is darkened
+    private static final float BACKDROP_BRIGHTNESS = 0.6f;
 
     private float resumeScale = 1f, restartScale = 1f, settingsScale = 1f, exitScale = 1f;
     private enum ButtonType { NONE, RESUME, RESTART, SETTINGS, EXIT }
@@ -46,20 +51,21 @@ public class PauseMenu implements Screen, M4TCH.VolumeChangeListener {
     private static final float mainmenu_button_WIDTH = 220f;
     private static final float mainmenu_button_HEIGHT = 160f;
 
-    public PauseMenu(M4TCH game, PlayScreen playScreen) {
+    // Built once by M4TCH and shown again on every pause: the backdrop is the frame PlayScreen captured when it
+    // was paused, so showing the menu loads and uploads nothing
+    public PauseMenu(M4TCH game) {
         this.game = game;
-        this.playScreen = playScreen;
-        font = new BitmapFont();
-        batch = new SpriteBatch();
+        batch = game.getBatch();
+        viewport = game.getRenderContext().getViewport();
 
-        background = tryLoadTexture("pausescreen_bg.png");
-        resume_button = tryLoadTexture("resume_button.png");
-        restart_button = tryLoadTexture("restart_button.png");
-        settings_icon = tryLoadTexture("settings_icon.png");
-        mainmenu_button = tryLoadTexture("mainmenu_button.png");
+        TextureAtlas uiAtlas = game.getUiAtlas();
+        resume_button = uiAtlas.findRegion("resume_button");
+        restart_button = uiAtlas.findRegion("restart_button");
+        settings_icon = uiAtlas.findRegion("settings_icon");
+        mainmenu_button = uiAtlas.findRegion("mainmenu_button");
 
-        int centerX = Gdx.graphics.getWidth() / 2;
-        int centerY = Gdx.graphics.getHeight() / 2;
+        float centerX = viewport.getWorldWidth() / 2;
+        float centerY = viewport.getWorldHeight() / 2;
 
         float topY = centerY + (RESUME_BUTTON_HEIGHT + RESTART_BUTTON_HEIGHT + SETTINGS_BUTTON_HEIGHT + mainmenu_button_HEIGHT) / 2f
             + BUTTON_SPACING * 1.5f;
@@ -81,41 +87,29 @@ public class PauseMenu implements Screen, M4TCH.VolumeChangeListener {
         settingsBounds.setSize(SETTINGS_BUTTON_WIDTH, SETTINGS_BUTTON_HEIGHT);
         mainMenuBounds.setSize(mainmenu_button_WIDTH, mainmenu_button_HEIGHT);
 
-        try {
-            bgm = Gdx.audio.newMusic(Gdx.files.internal("bgmmusic.mp3"));
+        bgm = game.getAssets().music(Assets.BGM);
+        if (bgm != null) {
             bgm.setLooping(true);
+        }
+    }
 
+    @Override
+    public void show() {
+        clickedButton = ButtonType.NONE;
+        clickTimer = 0f;
+        resumeScale = restartScale = settingsScale = exitScale = 1f;
+
+        if (bgm != null) {
             // Apply volume with special handling for very low values
             float volume = M4TCH.gameVolume;
             if (volume < 0.01f) {
                 volume = 0f;
             }
             bgm.setVolume(volume);
-
             bgm.play();
-        } catch (Exception e) {
-            Gdx.app.error("PauseMenu", "Error loading background music", e);
         }
 
-        Gdx.app.log("PauseMenu", "Pause menu initialized with volume: " + M4TCH.gameVolume);
-    }
-
-    // Try loading texture from multiple possible locations
-    private Texture tryLoadTexture(String filename) {
-        try {
-            return new Texture(Gdx.files.internal(filename));
-        } catch (Exception e1) {
-            try {
-                return new Texture(Gdx.files.internal("assets/" + filename));
-            } catch (Exception e2) {
-                try {
-                    return new Texture(Gdx.files.internal("core/assets/" + filename));
-                } catch (Exception e3) {
-                    Gdx.app.log("PauseMenu", "Could not load texture: " + filename);
-                    return null;
-                }
-            }
-        }
+        Gdx.app.log("PauseMenu", "Pause menu shown with volume: " + M4TCH.gameVolume);
     }
 
     private void update(float delta) {
@@ -128,7 +122,7 @@ public class PauseMenu implements Screen, M4TCH.VolumeChangeListener {
                     case RESTART: game.startGame(); break;
                     case SETTINGS: game.setScreen(new SettingScreen(game)); break;
                     case EXIT:
-                        playScreen.dispose();
+                        game.getPlayScreen().dispose();
                         game.setPaused(false);
                         game.setScreen(new HomeScreen(game));
                         break;
@@ -145,8 +139,10 @@ public class PauseMenu implements Screen, M4TCH.VolumeChangeListener {
         }
 
         if (Gdx.input.justTouched()) {
-            int x = Gdx.input.getX();
-            int y = Gdx.graphics.getHeight() - Gdx.input.getY();
+            touchPoint.set(Gdx.input.getX(), Gdx.input.getY(), 0);
+            viewport.unproject(touchPoint);
+            float x = touchPoint.x;
+            float y = touchPoint.y;
 
             // Debug touch position
             Gdx.app.debug("PauseMenu", "Touch at: " + x + "," + y);
@@ -205,8 +201,14 @@ public class PauseMenu implements Screen, M4TCH.VolumeChangeListener {
 
         if (!isPaused) return;
 
+        game.getRenderContext().apply();
         batch.begin();
-        batch.draw(background, 0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+        TextureRegion backdrop = game.getPlayScreen() != null ? game.getPlayScreen().getPauseFrame() : null;
+        if (backdrop != null) {
+            batch.setColor(BACKDROP_BRIGHTNESS, BACKDROP_BRIGHTNESS, BACKDROP_BRIGHTNESS, 1f);
+            batch.draw(backdrop, 0, 0, viewport.getWorldWidth(), viewport.getWorldHeight());
+            batch.setColor(Color.WHITE);
+        }
 
         batch.draw(resume_button,
             resumeBounds.x + (resumeBounds.width * (1 - resumeScale) / 2),
@@ -238,20 +240,13 @@ public class PauseMenu implements Screen, M4TCH.VolumeChangeListener {
     @Override
     public void dispose() {
         try {
-            font.dispose();
-            batch.dispose();
-            if (background != null) background.dispose();
-            if (resume_button != null) resume_button.dispose();
-            if (restart_button != null) restart_button.dispose();
-            if (settings_icon != null) settings_icon.dispose();
-            if (mainmenu_button != null) mainmenu_button.dispose();
-            if (bgm != null) bgm.dispose();
+            // Music goes back to the shared cache (it keeps playing)
+            game.getAssets().release(Assets.BGM);
         } catch (Exception e) {
             Gdx.app.error("PauseMenu", "Error disposing resources", e);
         }
     }
     
-    @Override public void show() {}
     @Override public void resize(int width, int height) {}
     @Override public void pause() {}
     @Override public void resume() {}
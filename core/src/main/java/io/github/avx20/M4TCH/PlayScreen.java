@@ -2,560 +2,176 @@ package io.github.avx20.M4TCH;
 
 
 
+import com.badlogic.gdx.Application;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.Screen;
-import com.badlogic.gdx.audio.Sound;
-import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
-import com.badlogic.gdx.math.Rectangle;
-import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector3;
-import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 
 public class PlayScreen implements Screen {
-    private BitmapFont entryFont;  // The medium font
-    private FreeTypeFontGenerator fontGenerator;
     private final M4TCH game;
-    private Texture gameBackground;
-    private BitmapFont font;
     private Viewport viewport;
-    private float timeRemaining = 60;
-    private int score = 0;
-    private Sound matchSuccessSound;
-    private Sound matchFailSound;
 
-    private Tile[][] grid = new Tile[4][4];
-    private final float TILE_SIZE = 220;
-    private final float TILE_SPACING = 5;
-
-    private Tile firstSelectedTile = null;
-    private Tile secondSelectedTile = null;
-    private float animationTimer = 0;
-
-    private boolean inputBlocked = false;
-    private float inputBlockTimer = 0;
-    private Tile[] vibratingTiles = new Tile[2];
+    // The rules; this screen turns touches into select() calls and view draws what the model reports
+    private final GameModel model;
+    private final RoundView view;
+    // Null when recording is turned off
+    private final ReplayRecorder recorder;
+    // Turns frame times and touches into ticks and selections
+    private final RoundClock clock;
+    private long simulationNanos = 0;
+    private int simulatedFrames = 0;
 
     private boolean isPaused = false;
-    private float pausedTimeRemaining;
-    private int pausedScore;
-    private Tile[][] pausedGrid = new Tile[4][4];
-
-    // Power-up states
-    private boolean freezeTimeActive = false;
-    private float freezeTimeRemaining = 0;
-    private boolean comboMultiplierActive = false;
-    private float comboMultiplierRemaining = 0;
-    private boolean instantTilesActive = false;
-    private float instantTilesRemaining = 0;
+    // The last frame before pausing, blurred, which PauseMenu draws behind its buttons
+    private static final int PAUSE_FRAME_DOWNSCALE = 4;
+    private final FrameCapture pauseFrame = new FrameCapture(PAUSE_FRAME_DOWNSCALE);
+    private final ParticleSystem particles;
     private boolean disposed = false;
 
-    // Combo system
-    private int comboMultiplier = 1;
-    private float comboTimeRemaining = 0;
-    private boolean redMatchDuringAllPowerUps = false;
-    private int redComboCount = 0;
-
-    // Tile appearance speed settings
-    private final float NORMAL_TILE_SPEED_MULTIPLIER = 0.2f;
-    private final float INSTANT_TILE_SPEED_MULTIPLIER = 2.0f; // 10x faster (0.2 * 10 = 2.0)
-
     // 添加一个临时向量，用于屏幕到世界坐标的转换
     private Vector3 touchPoint = new Vector3();
 
     public PlayScreen(M4TCH game) {
         this.game = game;
-        this.viewport = new FitViewport(1920, 1080);
-        this.gameBackground = new Texture("game_bg.png");
-
-        // Initialize the font generator
-        try {
-            fontGenerator = new FreeTypeFontGenerator(Gdx.files.internal("font.ttf"));
-            FreeTypeFontGenerator.FreeTypeFontParameter entryParams = new FreeTypeFontGenerator.FreeTypeFontParameter();
-            entryParams.size = 36;
-            entryParams.color = Color.YELLOW;  // Changed from WHITE to YELLOW
-            entryFont = fontGenerator.generateFont(entryParams);
-            entryFont.getData().setScale(1.2f);
-        } catch (Exception e) {
-            Gdx.app.error("PlayScreen", "Error loading custom font, using default", e);
-            entryFont = new BitmapFont();
-            entryFont.getData().setScale(1.2f);
-            entryFont.setColor(Color.YELLOW);  // Changed from WHITE to YELLOW
-        }
+        this.particles = game.getParticles();
+        this.viewport = game.getRenderContext().getViewport();
 
-        initializeGrid();
-        matchSuccessSound = Gdx.audio.newSound(Gdx.files.internal("match_success.mp3"));
-        matchFailSound = Gdx.audio.newSound(Gdx.files.internal("match_fail.mp3"));
-    }
-
-    private void initializeGrid() {
-        for (int row = 0; row < 4; row++) {
-            for (int col = 0; col < 4; col++) {
-                String color = getRandomColor();
-                Texture texture = new Texture(color + "_tile_one.png");
-                Vector2 position = new Vector2(
-                    col * (TILE_SIZE + TILE_SPACING) + (viewport.getWorldWidth() - (4 * (TILE_SIZE + TILE_SPACING))) / 2,
-                    row * (TILE_SIZE + TILE_SPACING) + (viewport.getWorldHeight() - (4 * (TILE_SIZE + TILE_SPACING))) / 2
-                );
-
-                grid[row][col] = new Tile(1, color, texture, position, col, row);
-            }
-        }
-    }
-
-    private String getRandomColor() {
-        String[] colors = {"red", "blue", "green"};
-        return colors[(int) (Math.random() * colors.length)];
+        int rows = game.getBoardRows();
+        int cols = game.getBoardCols();
+        long seed = MathUtils.random.nextLong();
+        model = new GameModel(seed, rows, cols);
+        recorder = game.isRecordReplays() ? new ReplayRecorder(seed, rows, cols) : null;
+        Gdx.app.log("PlayScreen", "New " + rows + "x" + cols + " round, seed " + seed);
+        view = new RoundView(game, model);
+        clock = new RoundClock(model, recorder);
     }
 
     @Override
     public void render(float delta) {
         if (game.isPaused()) {
-            renderPausedState();
+            // Nothing moves while paused
+            SpriteBatch batch = game.getRenderContext().apply();
+            batch.begin();
+            view.draw(batch, false);
+            batch.end();
             return;
         }
 
-        // Update power-up timers
-        updatePowerUpTimers(delta);
-
-        // Update time remaining (considering freeze time power-up)
-        if (!freezeTimeActive) {
-            timeRemaining -= delta;
-        } else {
-            timeRemaining -= delta * 0.25f; // 75% slower
+        // The model advances in whole ticks, however long the frame was, then takes this frame's touch
+        long simulationStart = System.nanoTime();
+        int cell = touchedCell();
+        if (clock.frame(delta, cell) && Gdx.app.getLogLevel() >= Application.LOG_DEBUG) {
+            int cols = model.getCols();
+            Gdx.app.debug("PlayScreen", "Tile selected at grid: " + (cell % cols) + "," + (cell / cols));
         }
+        logSimulationCost(System.nanoTime() - simulationStart);
 
-        animationTimer += delta;
+        particles.update(delta);
 
-        if (timeRemaining <= 0) {
-            game.setScreen(new GameOverScreen(game, score));
+        if (model.isOver()) {
+            game.setScreen(new GameOverScreen(game, model.getScore()));
             dispose();
             return;
         }
 
-        if (inputBlocked) {
-            inputBlockTimer += delta;
-            if (inputBlockTimer >= 0.5f) {
-                inputBlocked = false;
-                inputBlockTimer = 0;
-                if (vibratingTiles[0] != null) vibratingTiles[0].setVibrating(false);
-                if (vibratingTiles[1] != null) vibratingTiles[1].setVibrating(false);
-                vibratingTiles[0] = null;
-                vibratingTiles[1] = null;
-            }
-        }
+        // Tiles animate between ticks too, by the time not simulated yet
+        view.update(clock.getTime());
 
-        viewport.apply();
-        SpriteBatch batch = game.getBatch();
-        batch.setProjectionMatrix(viewport.getCamera().combined);
+        SpriteBatch batch = game.getRenderContext().apply();
 
         batch.begin();
-        batch.draw(gameBackground, 0, 0, viewport.getWorldWidth(), viewport.getWorldHeight());
-
-        for (int row = 0; row < 4; row++) {
-            for (int col = 0; col < 4; col++) {
-                Tile tile = grid[row][col];
-                if (tile != null) {
-                    tile.update(animationTimer);
-                    float scale = tile.getScale();
-                    float scaledWidth = TILE_SIZE * scale;
-                    float scaledHeight = TILE_SIZE * scale;
-                    float offsetX = (TILE_SIZE - scaledWidth) / 2;
-                    float offsetY = (TILE_SIZE - scaledHeight) / 2;
-
-                    float vibrationOffsetX = 0;
-                    float vibrationOffsetY = 0;
-                    if (tile.isVibrating()) {
-                        float vibrationAmount = (float) Math.sin(animationTimer * 30) * 5;
-                        vibrationOffsetX = vibrationAmount;
-                        vibrationOffsetY = vibrationAmount;
-                    }
-
-                    batch.draw(tile.getTexture(),
-                        tile.getPosition().x + offsetX + vibrationOffsetX,
-                        tile.getPosition().y + offsetY + vibrationOffsetY,
-                        scaledWidth, scaledHeight);
-                }
-            }
-        }
-
-        entryFont.draw(batch, "Time left: " + (int) timeRemaining, 570, viewport.getWorldHeight() - 50);
-        entryFont.draw(batch, "Score: " + score, 1060, viewport.getWorldHeight() - 50);
-
-
-        if (freezeTimeActive) {
-            entryFont.draw(batch, "Freeze Time: " + (int) freezeTimeRemaining, 50, viewport.getWorldHeight() - 150);
-        }
-        if (comboMultiplierActive) {
-            entryFont.draw(batch, "Combo Multiplier: " + (int) comboMultiplierRemaining, 50, viewport.getWorldHeight() - 200);
-        }
-        if (instantTilesActive) {
-            entryFont.draw(batch, "Instant Tiles: " + (int) instantTilesRemaining, 50, viewport.getWorldHeight() - 250);
-        }
-        if (comboMultiplier > 1) {
-            entryFont.draw(batch, "Combo: x" + comboMultiplier, 50, viewport.getWorldHeight() - 300);
-        }
+        view.draw(batch, true);
         batch.end();
 
-        if (!inputBlocked && !game.isPaused()) {
-            handleTileSelection();
-        }
-
         if (Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE)) {
-            pauseGame();
             game.pauseGame();
         }
     }
 
-    private void updatePowerUpTimers(float delta) {
-        // Update combo timer
-        if (comboTimeRemaining > 0) {
-            comboTimeRemaining -= delta;
-            if (comboTimeRemaining <= 0) {
-                comboMultiplier = 1;
-                redComboCount = 0;
-            }
-        }
-
-        // Update power-up timers
-        if (freezeTimeActive) {
-            freezeTimeRemaining -= delta;
-            if (freezeTimeRemaining <= 0) {
-                freezeTimeActive = false;
-            }
-        }
-
-        if (comboMultiplierActive) {
-            comboMultiplierRemaining -= delta;
-            if (comboMultiplierRemaining <= 0) {
-                comboMultiplierActive = false;
-            }
+    // Average time the model took per frame, once a second, when debug logging is on
+    private void logSimulationCost(long nanos) {
+        if (Gdx.app.getLogLevel() < Application.LOG_DEBUG) {
+            return;
         }
-
-        if (instantTilesActive) {
-            instantTilesRemaining -= delta;
-            if (instantTilesRemaining <= 0) {
-                instantTilesActive = false;
-                // When instant tiles effect expires, set all existing tiles to normal speed
-                updateAllTilesSpeed(NORMAL_TILE_SPEED_MULTIPLIER);
-            }
+        simulationNanos += nanos;
+        if (++simulatedFrames >= GameModel.TICKS_PER_SECOND) {
+            Gdx.app.debug("PlayScreen", "Simulation: " + (simulationNanos / simulatedFrames / 1000) + " us/frame");
+            simulationNanos = 0;
+            simulatedFrames = 0;
         }
     }
 
-    private void updateAllTilesSpeed(float speedMultiplier) {
-        for (int row = 0; row < 4; row++) {
-            for (int col = 0; col < 4; col++) {
-                if (grid[row][col] != null) {
-                    grid[row][col].setSpeedMultiplier(speedMultiplier);
-                }
-            }
+    // The board cell touched this frame, or -1
+    private int touchedCell() {
+        if (!Gdx.input.justTouched()) {
+            return -1;
         }
-    }
-
-    private void handleTileSelection() {
-        if (Gdx.input.justTouched()) {
-            // 使用 unproject 方法将屏幕坐标转换为世界坐标
-            touchPoint.set(Gdx.input.getX(), Gdx.input.getY(), 0);
-            viewport.unproject(touchPoint);
+        // 使用 unproject 方法将屏幕坐标转换为世界坐标
+        touchPoint.set(Gdx.input.getX(), Gdx.input.getY(), 0);
+        viewport.unproject(touchPoint);
 
-            float touchX = touchPoint.x;
-            float touchY = touchPoint.y;
+        float touchX = touchPoint.x;
+        float touchY = touchPoint.y;
 
-            // 调试信息
+        // 调试信息 (only built when debug logging is on)
+        if (Gdx.app.getLogLevel() >= Application.LOG_DEBUG) {
             Gdx.app.debug("PlayScreen", "Touch at screen: " + Gdx.input.getX() + "," + Gdx.input.getY() +
                 " world: " + touchX + "," + touchY);
-
-            for (int row = 3; row >= 0; row--) {
-                for (int col = 0; col < 4; col++) {
-                    Tile tile = grid[row][col];
-                    if (tile != null && (tile.isFullyVisible() || instantTilesActive)) {
-                        // 创建一个相对于世界坐标的碰撞检测区域
-                        float tileX = tile.getPosition().x;
-                        float tileY = tile.getPosition().y;
-                        Rectangle bounds = new Rectangle(tileX, tileY, TILE_SIZE, TILE_SIZE);
-
-                        // 调试瓦片位置
-                        if (bounds.contains(touchX, touchY)) {
-                            Gdx.app.debug("PlayScreen", "Tile selected at grid: " + col + "," + row +
-                                " pos: " + tileX + "," + tileY +
-                                " bounds: " + bounds.x + "," + bounds.y + "," + bounds.width + "," + bounds.height);
-
-                            tile.setScale(0.85f);
-
-                            if (firstSelectedTile == null) {
-                                firstSelectedTile = tile;
-                            } else if (secondSelectedTile == null && tile != firstSelectedTile) {
-                                secondSelectedTile = tile;
-                                checkForMatch();
-                            }
-                            return;
-                        }
-                    }
-                }
-            }
         }
+        return view.cellAt(touchX, touchY);
     }
 
-    private void renderPausedState() {
-        viewport.apply();
+    // Freezes the game where it is: render() stops advancing anything until resumeGameFromPause(). The frame
+    // is captured for PauseMenu's backdrop, so call this from render(), outside of the batch's begin()/end().
+    public void pauseGame() {
+        if (isPaused) {
+            return;
+        }
+        isPaused = true;
+        if (recorder != null) {
+            recorder.pause(model.getTicks());
+        }
+
+        pauseFrame.begin(viewport);
         SpriteBatch batch = game.getBatch();
         batch.setProjectionMatrix(viewport.getCamera().combined);
-
         batch.begin();
-        batch.draw(gameBackground, 0, 0, viewport.getWorldWidth(), viewport.getWorldHeight());
-
-        for (int row = 0; row < 4; row++) {
-            for (int col = 0; col < 4; col++) {
-                Tile tile = grid[row][col];
-                if (tile != null) {
-                    float scale = tile.getScale();
-                    float scaledWidth = TILE_SIZE * scale;
-                    float scaledHeight = TILE_SIZE * scale;
-                    float offsetX = (TILE_SIZE - scaledWidth) / 2;
-                    float offsetY = (TILE_SIZE - scaledHeight) / 2;
-
-                    batch.draw(tile.getTexture(),
-                        tile.getPosition().x + offsetX,
-                        tile.getPosition().y + offsetY,
-                        scaledWidth, scaledHeight);
-                }
-            }
-        }
-
-        // 确保font不为null
-        if (font != null) {
-            font.draw(batch, "Time: " + (int) pausedTimeRemaining, 50, viewport.getWorldHeight() - 50);
-            font.draw(batch, "Score: " + pausedScore, 50, viewport.getWorldHeight() - 100);
-        } else {
-            // 如果font为null，使用entryFont代替
-            entryFont.draw(batch, "Time: " + (int) pausedTimeRemaining, 50, viewport.getWorldHeight() - 50);
-            entryFont.draw(batch, "Score: " + pausedScore, 50, viewport.getWorldHeight() - 100);
-        }
+        view.draw(batch, false);
         batch.end();
+        pauseFrame.end();
+        game.getRenderContext().apply();
     }
 
-    private void checkForMatch() {
-        if (firstSelectedTile != null && secondSelectedTile != null) {
-            if (firstSelectedTile.getNumber() == secondSelectedTile.getNumber() &&
-                firstSelectedTile.getColor().equals(secondSelectedTile.getColor())) {
-
-                if (firstSelectedTile.getNumber() == 3) {
-                    handleStarTileMatch(firstSelectedTile, secondSelectedTile);
-                } else {
-                    combineTiles(firstSelectedTile, secondSelectedTile);
-                }
-            } else {
-                matchFailSound.play();
-                firstSelectedTile.setVibrating(true);
-                secondSelectedTile.setVibrating(true);
-                vibratingTiles[0] = firstSelectedTile;
-                vibratingTiles[1] = secondSelectedTile;
-                inputBlocked = true;
-                inputBlockTimer = 0;
-
-                firstSelectedTile = null;
-                secondSelectedTile = null;
-            }
-        }
-    }
-
-    private void handleStarTileMatch(Tile tile1, Tile tile2) {
-        matchSuccessSound.play();
-        int row1 = tile1.getGridY();
-        int col1 = tile1.getGridX();
-        int row2 = tile2.getGridY();
-        int col2 = tile2.getGridX();
-
-        String color = tile1.getColor();
-
-        // Activate power-ups based on color
-        if (color.equals("blue")) {
-            freezeTimeActive = true;
-
-            if (instantTilesRemaining > 0) {
-
-                freezeTimeRemaining += 5; // Extend duration
-            } else {
-                freezeTimeRemaining = 5;
-            }
-
-
-
-
-        } else if (color.equals("red")) {
-            comboMultiplierActive = true;
-
-
-            if (comboMultiplierRemaining > 0) {
-
-                comboMultiplierRemaining += 7; // Extend duration
-            } else {
-                comboMultiplierRemaining = 7;
-            }
-
-            // Check for red combo
-            if (allPowerUpsActive()) {
-                redMatchDuringAllPowerUps = true;
-                comboTimeRemaining = 0.5f;
-                redComboCount++;
-                comboMultiplier = (int) Math.pow(2, redComboCount);
-            }
-        } else if (color.equals("green")) {
-
-            instantTilesActive = true;
-
-
-            if (instantTilesRemaining > 0) {
-
-                instantTilesRemaining += 10; // Extend duration
-            } else {
-                instantTilesRemaining = 10;
-            }
-            // Apply instant tiles effect to all tiles
-            updateAllTilesSpeed(INSTANT_TILE_SPEED_MULTIPLIER);
-        }
-
-        String color1 = getRandomColor();
-        String color2 = getRandomColor();
-
-        grid[row1][col1] = new Tile(1, color1, new Texture(color1 + "_tile_one.png"),
-            tile1.getPosition(), col1, row1);
-        grid[row1][col1].setAppearTime(animationTimer);
-
-        // Set appropriate speed based on whether instant tiles is active
-        float speedMultiplier = instantTilesActive ? INSTANT_TILE_SPEED_MULTIPLIER : NORMAL_TILE_SPEED_MULTIPLIER;
-        grid[row1][col1].setSpeedMultiplier(speedMultiplier);
-
-        grid[row2][col2] = new Tile(1, color2, new Texture(color2 + "_tile_one.png"),
-            tile2.getPosition(), col2, row2);
-        grid[row2][col2].setAppearTime(animationTimer);
-        grid[row2][col2].setSpeedMultiplier(speedMultiplier);
-
-        firstSelectedTile = null;
-        secondSelectedTile = null;
-
-        int baseScore = calculateScore(3, color);
-        score += baseScore * comboMultiplier;
-    }
-
-    private void combineTiles(Tile tile1, Tile tile2) {
-        matchSuccessSound.play();
-        int originalNumber = tile1.getNumber(); // Store the original number for scoring
-        int newNumber = originalNumber + 1;
-        String color = tile1.getColor();
-        Texture newTexture;
-
-        if (tile1.getNumber() == 2 && tile2.getNumber() == 2) {
-            newNumber = 3;
-            newTexture = new Texture(color + "_tile_star.png");
-        } else {
-            newTexture = new Texture(color + "_tile_" + newNumber + ".png");
+    public void resumeGameFromPause() {
+        if (!isPaused) {
+            return;
         }
-
-        int secondRow = tile2.getGridY();
-        int secondCol = tile2.getGridX();
-        grid[secondRow][secondCol] = new Tile(newNumber, color, newTexture,
-            tile2.getPosition(), secondCol, secondRow);
-        grid[secondRow][secondCol].setAppearTime(animationTimer);
-
-        int firstRow = tile1.getGridY();
-        int firstCol = tile1.getGridX();
-        String newColor = getRandomColor();
-        Texture firstTexture = new Texture(newColor + "_tile_one.png");
-        grid[firstRow][firstCol] = new Tile(1, newColor, firstTexture,
-            tile1.getPosition(), firstCol, firstRow);
-        grid[firstRow][firstCol].setAppearTime(animationTimer);
-
-        // Set appropriate speed based on whether instant tiles is active
-        float speedMultiplier = instantTilesActive ? INSTANT_TILE_SPEED_MULTIPLIER : NORMAL_TILE_SPEED_MULTIPLIER;
-        grid[firstRow][firstCol].setSpeedMultiplier(speedMultiplier);
-
-        firstSelectedTile = null;
-        secondSelectedTile = null;
-
-        // Calculate score based on the original number before combination
-        int baseScore = calculateScore(originalNumber, color);
-        score += baseScore * comboMultiplier;
-
-        // Reset combo timer if not a red match during all power-ups
-        if (!(color.equals("red") && allPowerUpsActive())) {
-            comboTimeRemaining = 0.5f;
+        isPaused = false;
+        if (recorder != null) {
+            recorder.resume(model.getTicks());
         }
-    }
-
-    private int calculateScore(int number, String color) {
-        boolean allPowerUpsActive = allPowerUpsActive();
-        boolean cmActive = comboMultiplierActive;
 
-        if (number == 1) { // Base tiles (number one tiles)
-            if (allPowerUpsActive) return 290;
-            if (cmActive) return 100;
-            return 50;
-        }
-        else if (number == 2) { // Intermediate tiles (number two tiles)
-            if (allPowerUpsActive) return 610;
-            if (cmActive) return 300;
-            return 150;
-        }
-        else if (number == 3) { // Star tiles
-            // Special case for red star tiles when all power-ups are active
-            if (color.equals("red") && allPowerUpsActive && redMatchDuringAllPowerUps) {
-                return 5000;
-            }
-            // Normal star tile cases
-            if (allPowerUpsActive) return 2500;
-            if (cmActive) return 1000;
-            return 500;
-        }
-        return 0;
+        // Ensure font color is yellow after resume
+        view.invalidateHud();
     }
 
-    private boolean allPowerUpsActive() {
-        return freezeTimeActive && comboMultiplierActive && instantTilesActive;
+    public GameModel getModel() {
+        return model;
     }
 
-    public void pauseGame() {
-        isPaused = true;
-        pausedTimeRemaining = timeRemaining;
-        pausedScore = score;
-        for (int row = 0; row < 4; row++) {
-            for (int col = 0; col < 4; col++) {
-                if (grid[row][col] != null) {
-                    pausedGrid[row][col] = new Tile(grid[row][col]);
-                } else {
-                    pausedGrid[row][col] = null;
-                }
-            }
-        }
+    // The frame captured by pauseGame(); null before the first pause
+    public TextureRegion getPauseFrame() {
+        return pauseFrame.getRegion();
     }
 
-    public void resumeGameFromPause() {
-        isPaused = false;
-        timeRemaining = pausedTimeRemaining;
-        score = pausedScore;
-        for (int row = 0; row < 4; row++) {
-            for (int col = 0; col < 4; col++) {
-                if (pausedGrid[row][col] != null) {
-                    grid[row][col] = new Tile(pausedGrid[row][col]);
-                } else {
-                    grid[row][col] = null;
-                }
-            }
-        }
-        firstSelectedTile = null;
-        secondSelectedTile = null;
-
-        // Ensure font color is yellow after resume
-        entryFont.setColor(Color.YELLOW);
-    }
     @Override
     public void resize(int width, int height) {
-        viewport.update(width, height, true);
+        // The shared viewport is resized by M4TCH
     }
 
     @Override
@@ -563,8 +179,8 @@ public class PlayScreen implements Screen {
 
     @Override
     public void hide() {
-        // Ensure resources are cleaned up when screen is hidden
-        dispose();
+        // Not disposed here: the screen is hidden while paused and shown again on resume.
+        // M4TCH.startGame, the pause menu's exit and game over dispose it instead.
     }
 
 
@@ -579,64 +195,13 @@ public class PlayScreen implements Screen {
         if (disposed) return;
         disposed = true;
 
-        Gdx.app.log("PlayScreen", "Disposing resources...");
-
-        // Dispose sounds
-        try {
-            if (matchSuccessSound != null) {
-                matchSuccessSound.dispose();
-            }
-        } catch (Exception e) {
-            Gdx.app.error("PlayScreen", "Error disposing matchSuccessSound", e);
-        }
-
-        try {
-            if (matchFailSound != null) {
-                matchFailSound.dispose();
-            }
-        } catch (Exception e) {
-            Gdx.app.error("PlayScreen", "Error disposing matchFailSound", e);
-        }
-
-        // Dispose background
-        try {
-            if (gameBackground != null) {
-                gameBackground.dispose();
-            }
-        } catch (Exception e) {
-            Gdx.app.error("PlayScreen", "Error disposing gameBackground", e);
-        }
-
-        // Dispose grid textures
-        for (int row = 0; row < 4; row++) {
-            for (int col = 0; col < 4; col++) {
-                try {
-                    if (grid[row][col] != null && grid[row][col].getTexture() != null) {
-                        grid[row][col].getTexture().dispose();
-                    }
-                } catch (Exception e) {
-                    Gdx.app.error("PlayScreen", "Error disposing tile texture at " + row + "," + col, e);
-                }
-            }
-        }
-
-        // Dispose fonts last
-        try {
-            if (entryFont != null) {
-                entryFont.dispose();
-            }
-        } catch (Exception e) {
-            Gdx.app.error("PlayScreen", "Error disposing entryFont", e);
+        // However the round ended (time up, restart, back to the menu), it is saved as far as it got
+        if (recorder != null) {
+            recorder.end(model.getTicks(), model.getScore());
+            game.saveReplay(recorder);
         }
-
-        try {
-            if (fontGenerator != null) {
-                fontGenerator.dispose();
-            }
-        } catch (Exception e) {
-            Gdx.app.error("PlayScreen", "Error disposing fontGenerator", e);
-        }
-
-        Gdx.app.log("PlayScreen", "Resources disposed successfully");
+        view.dispose();
+        pauseFrame.dispose();
+        Gdx.app.log("PlayScreen", "Disposed");
     }
 }
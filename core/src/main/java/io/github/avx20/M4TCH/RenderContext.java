@@ -0,0 +1,114 @@
+package io.github.avx20.M4TCH;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.g2d.DistanceFieldFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.HdpiUtils;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.viewport.FitViewport;
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+// The one SpriteBatch, shaders and viewport every screen draws through. M4TCH creates it once and disposes it on
+// exit; screens only borrow it, so building a screen compiles no shaders and allocates no vertex buffers.
+// Screens lay themselves out in the WORLD_WIDTH x WORLD_HEIGHT world of the shared viewport, which M4TCH keeps
+// sized to the window. With dynamic resolution on, everything drawn between beginFrame() and endFrame() goes
+// through a RenderScaler instead of straight to the back buffer.
+public class RenderContext implements Disposable {
+    public static final float WORLD_WIDTH = 1920;
+    public static final float WORLD_HEIGHT = 1080;
+
+    private final ShaderProgram shader;
+    private final ShaderProgram tileShader;
+    private final SpriteBatch batch;
+    private final Viewport viewport;
+    private RenderScaler scaler; // Null unless dynamic resolution is on
+
+    public RenderContext() {
+        // Draws textures like the default SpriteBatch shader and switches to distance-field sampling only while
+        // a FontService font is being drawn, so the batch keeps it for the whole frame
+        shader = DistanceFieldFont.createDistanceFieldShader();
+        batch = new SpriteBatch(1000, shader);
+        // Every round's TileRenderer draws with it
+        tileShader = TileRenderer.createShader();
+        viewport = new FitViewport(WORLD_WIDTH, WORLD_HEIGHT);
+        viewport.update(Gdx.graphics.getWidth(), Gdx.graphics.getHeight(), true);
+    }
+
+    // floor is the lowest fraction of the back buffer's resolution the scene may be rendered at
+    public void enableDynamicResolution(float floor, int targetFps) {
+        if (scaler == null) {
+            scaler = new RenderScaler(floor, targetFps,
+                Gdx.graphics.getBackBufferWidth(), Gdx.graphics.getBackBufferHeight());
+        }
+    }
+
+    // delta is the time since the last frame; only continuously rendered frames count towards the scale
+    public void beginFrame(float delta) {
+        if (scaler == null) {
+            return;
+        }
+        if (Gdx.graphics.isContinuousRendering()) {
+            scaler.addFrameTime(delta);
+        }
+        scaler.begin();
+    }
+
+    public void endFrame() {
+        if (scaler != null) {
+            scaler.end(batch);
+        }
+    }
+
+    // Applies the shared viewport and points the batch at it; returns the batch, ready for begin().
+    // This also makes the frame's render target current again after drawing into another FrameBuffer.
+    public SpriteBatch apply() {
+        if (scaler != null) {
+            scaler.bind();
+            float scale = scaler.getScale();
+            Gdx.gl.glViewport(
+                Math.round(HdpiUtils.toBackBufferX(viewport.getScreenX()) * scale),
+                Math.round(HdpiUtils.toBackBufferY(viewport.getScreenY()) * scale),
+                Math.round(HdpiUtils.toBackBufferX(viewport.getScreenWidth()) * scale),
+                Math.round(HdpiUtils.toBackBufferY(viewport.getScreenHeight()) * scale));
+        } else {
+            viewport.apply();
+        }
+        batch.setProjectionMatrix(viewport.getCamera().combined);
+        return batch;
+    }
+
+    public void resize(int width, int height) {
+        viewport.update(width, height, true);
+        if (scaler != null) {
+            scaler.resize(Gdx.graphics.getBackBufferWidth(), Gdx.graphics.getBackBufferHeight());
+        }
+    }
+
+    public SpriteBatch getBatch() {
+        return batch;
+    }
+
+    public Viewport getViewport() {
+        return viewport;
+    }
+
+    public ShaderProgram getShader() {
+        return shader;
+    }
+
+    public ShaderProgram getTileShader() {
+        return tileShader;
+    }
+
+    @Override
+    public void dispose() {
+        // A batch doesn't dispose a shader it was given
+        batch.dispose();
+        shader.dispose();
+        tileShader.dispose();
+        if (scaler != null) {
+            scaler.dispose();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package io.github.avx20.M4TCH;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.WindowedMean;
+import com.badlogic.gdx.utils.Disposable;
+
+// Dynamic resolution: the frame is drawn into the lower-left scale x scale part of a back-buffer-sized
+// FrameBuffer and stretched over the screen at the end, so a lower scale shades fewer pixels. The scale moves in
+// steps of 10% between a floor and 1, from the mean frame time of each WINDOW frames: it drops as soon as a window
+// misses the target and only climbs back after enough windows in a row had headroom. Each drop that undoes a climb
+// doubles the number of windows the next climb waits for, so a GPU that sits right at the edge settles on the
+// lower step instead of flipping between the two.
+// Only the pixels rendered change; the viewport and therefore unproject() still work in back buffer coordinates.
+public class RenderScaler implements Disposable {
+    private static final int STEPS = 10; // Scale = level / STEPS
+    private static final int WINDOW = 30;
+    // Relative to the target frame time
+    private static final float DOWNSCALE_ABOVE = 1.15f;
+    private static final float UPSCALE_BELOW = 1.05f;
+    private static final int MAX_UPSCALE_WAIT = 16; // Windows
+
+    private final int minLevel;
+    private final float targetFrameTime;
+    private final WindowedMean frameTimes = new WindowedMean(WINDOW);
+    private final Matrix4 projection = new Matrix4();
+    private FrameBuffer frameBuffer;
+    private TextureRegion region;
+    private int width;
+    private int height;
+    private int level = STEPS;
+    private int goodWindows = 0;
+    private int upscaleWait = 1;
+    private boolean lastChangeWasUp = false;
+
+    // width and height are the back buffer's size in pixels
+    public RenderScaler(float floor, int targetFps, int width, int height) {
+        this.minLevel = Math.max(1, Math.min(STEPS, (int) Math.ceil(floor * STEPS)));
+        this.targetFrameTime = 1f / targetFps;
+        resize(width, height);
+    }
+
+    public void resize(int width, int height) {
+        if (frameBuffer != null && width == this.width && height == this.height) {
+            return;
+        }
+        if (frameBuffer != null) {
+            frameBuffer.dispose();
+        }
+        this.width = Math.max(1, width);
+        this.height = Math.max(1, height);
+        frameBuffer = new FrameBuffer(Pixmap.Format.RGB888, this.width, this.height, false);
+        frameBuffer.getColorBufferTexture().setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+        region = new TextureRegion(frameBuffer.getColorBufferTexture());
+        projection.setToOrtho2D(0, 0, this.width, this.height);
+        updateRegion();
+    }
+
+    // Feeds one frame's duration; frames rendered on demand say nothing about the GPU and should not be fed
+    public void addFrameTime(float delta) {
+        frameTimes.addValue(delta);
+        if (!frameTimes.hasEnoughData()) {
+            return;
+        }
+        float mean = frameTimes.getMean();
+        frameTimes.clear();
+
+        if (mean > targetFrameTime * DOWNSCALE_ABOVE && level > minLevel) {
+            if (lastChangeWasUp) {
+                upscaleWait = Math.min(MAX_UPSCALE_WAIT, upscaleWait * 2);
+            }
+            setLevel(level - 1);
+            lastChangeWasUp = false;
+            goodWindows = 0;
+        } else if (mean < targetFrameTime * UPSCALE_BELOW && level < STEPS) {
+            if (++goodWindows >= upscaleWait) {
+                setLevel(level + 1);
+                lastChangeWasUp = true;
+                goodWindows = 0;
+            }
+        } else {
+            goodWindows = 0;
+        }
+    }
+
+    private void setLevel(int level) {
+        this.level = level;
+        updateRegion();
+        Gdx.app.debug("RenderScaler", "Render scale " + getScale());
+    }
+
+    private void updateRegion() {
+        region.setRegion(0, 0, getScaledWidth(), getScaledHeight());
+        region.flip(false, true);
+    }
+
+    public float getScale() {
+        return (float) level / STEPS;
+    }
+
+    // Makes the FrameBuffer the render target again; the GL viewport is left to the caller
+    public void bind() {
+        frameBuffer.bind();
+    }
+
+    // Starts a frame: binds the FrameBuffer and clears the part that will be shown, letterbox bars included
+    public void begin() {
+        bind();
+        Gdx.gl.glViewport(0, 0, getScaledWidth(), getScaledHeight());
+        Gdx.gl.glClearColor(0, 0, 0, 1);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+    }
+
+    // Stretches the frame over the back buffer with the given batch, which must not be drawing
+    public void end(SpriteBatch batch) {
+        FrameBuffer.unbind();
+        Gdx.gl.glViewport(0, 0, width, height);
+        batch.setProjectionMatrix(projection);
+        batch.setPackedColor(Color.WHITE_FLOAT_BITS);
+        batch.disableBlending();
+        batch.begin();
+        batch.draw(region, 0, 0, width, height);
+        batch.end();
+        batch.enableBlending();
+    }
+
+    private int getScaledWidth() {
+        return Math.max(1, width * level / STEPS);
+    }
+
+    private int getScaledHeight() {
+        return Math.max(1, height * level / STEPS);
+    }
+
+    @Override
+    public void dispose() {
+        frameBuffer.dispose();
+    }
+}
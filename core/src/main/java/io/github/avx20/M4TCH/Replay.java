@@ -0,0 +1,211 @@
+package io.github.avx20.M4TCH;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+// A recorded round, read back from what ReplayRecorder wrote. The file is a 5-byte header, "M4R", the version
+// and a flags byte whose FLAG_DEFLATE bit says the rest is deflated, followed by unsigned varints: rows, cols,
+// the seed, then one (ticks since the previous event, event) pair per input, the event being
+// cell << TYPE_BITS | SELECT, PAUSE or RESUME, and finally END and the score the round reached.
+// Like GameModel it has no libGDX in it, so replays can be checked and benchmarked outside the game.
+public class Replay {
+    static final byte[] MAGIC = {'M', '4', 'R'};
+    static final int VERSION = 1;
+    static final int FLAG_DEFLATE = 1;
+
+    static final int TYPE_BITS = 2;
+    public static final int SELECT = 0;
+    public static final int PAUSE = 1;
+    public static final int RESUME = 2;
+    public static final int END = 3;
+
+    private final int rows;
+    private final int cols;
+    private final long seed;
+    // Events in order, without the END
+    private long[] ticks = new long[64];
+    private int[] events = new int[64];
+    private int count = 0;
+    private long endTick = -1;
+    private int finalScore = -1;
+
+    private Replay(int rows, int cols, long seed) {
+        this.rows = rows;
+        this.cols = cols;
+        this.seed = seed;
+    }
+
+    public static Replay read(InputStream in) throws IOException {
+        for (byte b : MAGIC) {
+            if (in.read() != b) {
+                throw new IOException("Not a replay file");
+            }
+        }
+        int version = in.read();
+        if (version != VERSION) {
+            throw new IOException("Unsupported replay version " + version);
+        }
+        int flags = in.read();
+        if (flags < 0) {
+            throw new EOFException("Replay header is truncated");
+        }
+        if ((flags & FLAG_DEFLATE) != 0) {
+            Inflater inflater = new Inflater();
+            try {
+                return readBody(new InflaterInputStream(in, inflater));
+            } finally {
+                inflater.end();
+            }
+        }
+        return readBody(in);
+    }
+
+    // Everything read is checked before it is kept, so a damaged or hand-edited file fails here with an
+    // IOException rather than later inside GameModel
+    private static Replay readBody(InputStream in) throws IOException {
+        long rows = readVarint(in);
+        long cols = readVarint(in);
+        if (rows < GameModel.MIN_SIZE || rows > GameModel.MAX_SIZE
+                || cols < GameModel.MIN_SIZE || cols > GameModel.MAX_SIZE) {
+            throw new IOException("Replay board size " + rows + "x" + cols + " is out of range");
+        }
+        Replay replay = new Replay((int) rows, (int) cols, readVarint(in));
+        long cells = rows * cols;
+        long tick = 0;
+        while (true) {
+            long delta = readVarint(in);
+            // A delta this large only comes from a corrupt file and would take the tick back past zero
+            if (tick + delta < tick) {
+                throw new IOException("Replay ticks go backwards after tick " + tick);
+            }
+            tick += delta;
+            // Nor can a recording run past the longest round there is, however its clock was frozen
+            if (tick > GameModel.MAX_ROUND_TICKS) {
+                throw new IOException("Replay tick " + tick + " is past the end of any round");
+            }
+            long event = readVarint(in);
+            int type = (int) event & (1 << TYPE_BITS) - 1;
+            long cell = event >>> TYPE_BITS;
+            if (type == SELECT ? cell >= cells : cell != 0) {
+                throw new IOException("Unknown replay event " + event + " at tick " + tick);
+            }
+            if (type == END) {
+                long score = readVarint(in);
+                if (score > Integer.MAX_VALUE) {
+                    throw new IOException("Replay score " + score + " is out of range");
+                }
+                replay.endTick = tick;
+                replay.finalScore = (int) score;
+                return replay;
+            }
+            replay.add(tick, (int) event);
+        }
+    }
+
+    // Reads a whole replay held in memory, e.g. a file loaded in one go
+    public static Replay read(byte[] bytes) throws IOException {
+        return read(new ByteArrayInputStream(bytes));
+    }
+
+    private void add(long tick, int event) {
+        if (count == events.length) {
+            long[] grownTicks = new long[count * 2];
+            int[] grownEvents = new int[count * 2];
+            System.arraycopy(ticks, 0, grownTicks, 0, count);
+            System.arraycopy(events, 0, grownEvents, 0, count);
+            ticks = grownTicks;
+            events = grownEvents;
+        }
+        ticks[count] = tick;
+        events[count] = event;
+        count++;
+    }
+
+    // Plays the whole round on a new model and returns it at the recorded end, where its score should equal
+    // getFinalScore(). Inputs are applied after the model reaches their tick and before it steps on, which is
+    // the order PlayScreen applies them in.
+    public GameModel simulate() {
+        GameModel model = createModel();
+        int next = 0;
+        while (true) {
+            next = applyEvents(model, next);
+            if (model.getTicks() >= endTick || model.isOver()) {
+                return model;
+            }
+            model.step();
+        }
+    }
+
+    public GameModel createModel() {
+        return new GameModel(seed, rows, cols);
+    }
+
+    // Applies the selections stamped with the model's current tick, starting at event index next, and returns
+    // the index of the first event still to come
+    public int applyEvents(GameModel model, int next) {
+        long now = model.getTicks();
+        for (; next < count && ticks[next] <= now; next++) {
+            if (getType(next) == SELECT) {
+                int cell = getCell(next);
+                model.select(cell / cols, cell % cols);
+            }
+        }
+        return next;
+    }
+
+    private static long readVarint(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Replay is truncated");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in replay");
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getEventCount() {
+        return count;
+    }
+
+    public long getTick(int event) {
+        return ticks[event];
+    }
+
+    public int getType(int event) {
+        return events[event] & (1 << TYPE_BITS) - 1;
+    }
+
+    public int getCell(int event) {
+        return events[event] >>> TYPE_BITS;
+    }
+
+    // The tick the recording ended on
+    public long getEndTick() {
+        return endTick;
+    }
+
+    public int getFinalScore() {
+        return finalScore;
+    }
+}
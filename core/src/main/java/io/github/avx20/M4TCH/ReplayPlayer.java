@@ -0,0 +1,99 @@
+package io.github.avx20.M4TCH;
+
+// Plays a Replay on a live GameModel one tick at a time, for ReplayScreen and ReplayRunner. Building the player
+// runs the whole recording once and keeps a full copy of the model every KEYFRAME_TICKS, so seek() restores the
+// nearest keyframe at or before the target and simulates less than a second forward, instead of replaying from
+// the start. A 60-second round has about 60 keyframes of a few hundred bytes each.
+// Between calls the model is at getTick() with every input stamped up to that tick applied.
+public class ReplayPlayer {
+    public static final int KEYFRAME_TICKS = GameModel.TICKS_PER_SECOND;
+
+    private final Replay replay;
+    private final GameModel model;
+    private int nextEvent;
+    // keyframes[k] is the model at tick k * KEYFRAME_TICKS, keyframeEvents[k] its nextEvent
+    private GameModel[] keyframes = new GameModel[16];
+    private int[] keyframeEvents = new int[16];
+    private int keyframeCount = 0;
+
+    public ReplayPlayer(Replay replay) {
+        this.replay = replay;
+        model = replay.createModel();
+        nextEvent = replay.applyEvents(model, 0);
+
+        // Runs a copy of the round through to its end, keeping a keyframe each time it reaches a whole
+        // KEYFRAME_TICKS. The count comes from how long the model actually plays, not from the file.
+        GameModel scout = model.copy();
+        int scoutEvent = nextEvent;
+        do {
+            addKeyframe(scout, scoutEvent);
+            for (int i = 0; i < KEYFRAME_TICKS && !isFinished(scout); i++) {
+                scout.step();
+                scoutEvent = replay.applyEvents(scout, scoutEvent);
+            }
+        } while (scout.getTicks() == (long) keyframeCount * KEYFRAME_TICKS);
+    }
+
+    private void addKeyframe(GameModel scout, int scoutEvent) {
+        if (keyframeCount == keyframes.length) {
+            GameModel[] grownKeyframes = new GameModel[keyframeCount * 2];
+            int[] grownEvents = new int[keyframeCount * 2];
+            System.arraycopy(keyframes, 0, grownKeyframes, 0, keyframeCount);
+            System.arraycopy(keyframeEvents, 0, grownEvents, 0, keyframeCount);
+            keyframes = grownKeyframes;
+            keyframeEvents = grownEvents;
+        }
+        keyframes[keyframeCount] = scout.copy();
+        keyframeEvents[keyframeCount] = scoutEvent;
+        keyframeCount++;
+    }
+
+    // Advances one tick; returns false once the recording has ended
+    public boolean step() {
+        if (isFinished()) {
+            return false;
+        }
+        model.step();
+        nextEvent = replay.applyEvents(model, nextEvent);
+        return true;
+    }
+
+    // Moves the model to the given tick, clamped to the recording. The model's listener hears nothing of the
+    // jump, so views have to redraw the whole board afterwards.
+    public void seek(long tick) {
+        tick = Math.max(0, Math.min(tick, getEndTick()));
+        int k = (int) Math.min(tick / KEYFRAME_TICKS, keyframeCount - 1);
+        GameModel.Listener listener = model.getListener();
+        model.setListener(null);
+        model.copyFrom(keyframes[k]);
+        nextEvent = keyframeEvents[k];
+        while (model.getTicks() < tick && step()) {
+            // Simulate forward from the keyframe
+        }
+        model.setListener(listener);
+    }
+
+    public boolean isFinished() {
+        return isFinished(model);
+    }
+
+    private boolean isFinished(GameModel model) {
+        return model.getTicks() >= replay.getEndTick() || model.isOver();
+    }
+
+    public GameModel getModel() {
+        return model;
+    }
+
+    public Replay getReplay() {
+        return replay;
+    }
+
+    public long getTick() {
+        return model.getTicks();
+    }
+
+    public long getEndTick() {
+        return replay.getEndTick();
+    }
+}
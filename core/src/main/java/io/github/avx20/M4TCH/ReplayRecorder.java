@@ -0,0 +1,92 @@
+package io.github.avx20.M4TCH;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+// Records a round as its board size, its seed and the inputs that changed it, stamped with the model tick they
+// happened on, so that Replay can play it back exactly. Events are varint-encoded into a byte array as they
+// happen, a couple of bytes per tap, and nothing touches the disk until writeTo. See Replay for the format.
+public class ReplayRecorder {
+    private byte[] bytes = new byte[256];
+    private int size = 0;
+    private long lastTick = 0;
+    private boolean ended = false;
+
+    public ReplayRecorder(long seed, int rows, int cols) {
+        writeVarint(rows);
+        writeVarint(cols);
+        writeVarint(seed);
+    }
+
+    // A select() the model accepted; rejected taps change nothing and are not recorded
+    public void select(long tick, int cell) {
+        event(tick, cell << Replay.TYPE_BITS | Replay.SELECT);
+    }
+
+    public void pause(long tick) {
+        event(tick, Replay.PAUSE);
+    }
+
+    public void resume(long tick) {
+        event(tick, Replay.RESUME);
+    }
+
+    // Closes the recording with the score the round reached, which Replay checks its playback against.
+    // Nothing is recorded after this.
+    public void end(long tick, int score) {
+        if (ended) {
+            return;
+        }
+        event(tick, Replay.END);
+        writeVarint(score);
+        ended = true;
+    }
+
+    public void writeTo(OutputStream out, boolean compress) throws IOException {
+        out.write(Replay.MAGIC);
+        out.write(Replay.VERSION);
+        out.write(compress ? Replay.FLAG_DEFLATE : 0);
+        if (compress) {
+            Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+            try {
+                DeflaterOutputStream deflated = new DeflaterOutputStream(out, deflater);
+                deflated.write(bytes, 0, size);
+                deflated.finish();
+            } finally {
+                deflater.end();
+            }
+        } else {
+            out.write(bytes, 0, size);
+        }
+        out.flush();
+    }
+
+    private void event(long tick, int event) {
+        if (ended) {
+            return;
+        }
+        writeVarint(tick - lastTick);
+        writeVarint(event);
+        lastTick = tick;
+    }
+
+    // Unsigned LEB128: seven bits per byte, low bits first, the high bit set on every byte but the last
+    private void writeVarint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        writeByte((int) value);
+    }
+
+    private void writeByte(int b) {
+        if (size == bytes.length) {
+            byte[] grown = new byte[bytes.length * 2];
+            System.arraycopy(bytes, 0, grown, 0, size);
+            bytes = grown;
+        }
+        bytes[size++] = (byte) b;
+    }
+}
@@ -0,0 +1,165 @@
+package io.github.avx20.M4TCH;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+
+// Plays a recorded round back on the same RoundView PlayScreen uses. The model is stepped by a ReplayPlayer at
+// 1x or 8x real time, or unthrottled (as many ticks as fit in UNTHROTTLED_FRAME_NANOS of each frame), and can
+// jump anywhere in the round through the player's keyframes.
+// Keys: 1, 2 and 3 pick 1x, 8x and unthrottled, SPACE pauses, LEFT and RIGHT seek SEEK_SECONDS back and forward,
+// HOME goes back to the start and ESC returns to the home screen.
+public class ReplayScreen implements Screen {
+    private static final float FAST_SPEED = 8;
+    private static final long UNTHROTTLED_FRAME_NANOS = 8_000_000;
+    private static final int SEEK_SECONDS = 5;
+
+    private final M4TCH game;
+    private final ReplayPlayer player;
+    private final RoundView view;
+    private final ParticleSystem particles;
+    private float speed = 1; // 0 = unthrottled
+    private boolean playing = true;
+    private float accumulator = 0;
+    private int lastFrameTicks = 0;
+    private boolean disposed = false;
+
+    private final Hud hud;
+    private final Hud.Field speedField, unthrottledField, recordedScoreField, finishedField;
+
+    public ReplayScreen(M4TCH game, Replay replay) {
+        this.game = game;
+        this.particles = game.getParticles();
+        player = new ReplayPlayer(replay);
+        view = new RoundView(game, player.getModel());
+
+        BitmapFont font = game.getFonts().get(43, Color.WHITE);
+        hud = new Hud(font);
+        speedField = hud.add("Replay speed: x", 50, 100);
+        unthrottledField = hud.add("Replay unthrottled, ticks per frame: ", 50, 100);
+        recordedScoreField = hud.add("Recorded score: ", 50, 50);
+        finishedField = hud.add("Replay finished at tick ", 50, 150);
+
+        Gdx.app.log("ReplayScreen", "Replaying " + replay.getRows() + "x" + replay.getCols() + " round, seed "
+            + replay.getSeed() + ", " + replay.getEventCount() + " inputs over " + replay.getEndTick() + " ticks");
+    }
+
+    @Override
+    public void render(float delta) {
+        if (!handleInput()) {
+            return;
+        }
+
+        lastFrameTicks = 0;
+        if (playing && !player.isFinished()) {
+            if (speed > 0) {
+                accumulator += Math.min(delta, RoundClock.MAX_FRAME_TIME) * speed;
+                while (accumulator >= GameModel.TICK && player.step()) {
+                    accumulator -= GameModel.TICK;
+                    lastFrameTicks++;
+                }
+            } else {
+                long deadline = System.nanoTime() + UNTHROTTLED_FRAME_NANOS;
+                while (System.nanoTime() < deadline && player.step()) {
+                    lastFrameTicks++;
+                }
+            }
+        }
+        if (player.isFinished()) {
+            accumulator = 0;
+        }
+        particles.update(delta);
+
+        GameModel model = player.getModel();
+        view.update(model.getTime() + (playing ? accumulator : 0));
+
+        SpriteBatch batch = game.getRenderContext().apply();
+        batch.begin();
+        view.draw(batch, playing);
+        if (player.isFinished()) {
+            finishedField.draw(batch, (int) model.getTicks());
+        }
+        if (speed > 0) {
+            speedField.draw(batch, playing ? (int) speed : 0);
+        } else {
+            unthrottledField.draw(batch, lastFrameTicks);
+        }
+        recordedScoreField.draw(batch, player.getReplay().getFinalScore());
+        batch.end();
+    }
+
+    // Returns false once the screen has been left
+    private boolean handleInput() {
+        if (Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE)) {
+            game.setScreen(new HomeScreen(game));
+            dispose();
+            return false;
+        }
+        if (Gdx.input.isKeyJustPressed(Input.Keys.NUM_1)) {
+            setSpeed(1);
+        } else if (Gdx.input.isKeyJustPressed(Input.Keys.NUM_2)) {
+            setSpeed(FAST_SPEED);
+        } else if (Gdx.input.isKeyJustPressed(Input.Keys.NUM_3)) {
+            setSpeed(0);
+        }
+        if (Gdx.input.isKeyJustPressed(Input.Keys.SPACE)) {
+            playing = !playing;
+        }
+        if (Gdx.input.isKeyJustPressed(Input.Keys.LEFT)) {
+            seek(player.getTick() - SEEK_SECONDS * GameModel.TICKS_PER_SECOND);
+        } else if (Gdx.input.isKeyJustPressed(Input.Keys.RIGHT)) {
+            seek(player.getTick() + SEEK_SECONDS * GameModel.TICKS_PER_SECOND);
+        } else if (Gdx.input.isKeyJustPressed(Input.Keys.HOME)) {
+            seek(0);
+        }
+        return true;
+    }
+
+    private void setSpeed(float speed) {
+        this.speed = speed;
+        accumulator = 0;
+        // Sounds and bursts only make sense in real time
+        view.setEffectsEnabled(speed == 1);
+        if (speed != 1) {
+            particles.clear();
+        }
+    }
+
+    private void seek(long tick) {
+        long start = System.nanoTime();
+        player.seek(tick);
+        accumulator = 0;
+        particles.clear();
+        view.refreshAll();
+        Gdx.app.log("ReplayScreen", "Seeked to tick " + player.getTick() + " in "
+            + (System.nanoTime() - start) / 1000 + " us");
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        // The shared viewport is resized by M4TCH
+    }
+
+    @Override
+    public void show() {}
+
+    @Override
+    public void hide() {}
+
+    @Override
+    public void pause() {}
+
+    @Override
+    public void resume() {}
+
+    @Override
+    public void dispose() {
+        if (disposed) return;
+        disposed = true;
+        view.dispose();
+        Gdx.app.log("ReplayScreen", "Disposed");
+    }
+}
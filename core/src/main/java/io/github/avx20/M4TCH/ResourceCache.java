@@ -0,0 +1,160 @@
+package io.github.avx20.M4TCH;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.ObjectLongMap;
+import com.badlogic.gdx.utils.ObjectSet;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+// Reference counts on top of the AssetManager. Screens acquire what they draw and release it on dispose;
+// anything nobody holds stays loaded for the next screen until GPU memory goes over the budget, and then the
+// least recently released textures, atlases and fonts are unloaded first. Audio is never evicted.
+public class ResourceCache {
+    private static final long MEGABYTE = 1024 * 1024;
+
+    private final AssetManager manager;
+    private long budgetBytes;
+    private long residentBytes = 0;
+
+    private final ObjectIntMap<String> references = new ObjectIntMap<>();
+    private final ObjectLongMap<String> sizes = new ObjectLongMap<>();
+    // Loaded but unreferenced, least recently released first
+    private final LinkedHashMap<String, AssetDescriptor<?>> idle = new LinkedHashMap<>();
+
+    public ResourceCache(AssetManager manager, long budgetBytes) {
+        this.manager = manager;
+        this.budgetBytes = budgetBytes;
+    }
+
+    public <T> T acquire(AssetDescriptor<T> descriptor) {
+        String fileName = descriptor.fileName;
+        if (!manager.isLoaded(fileName)) {
+            // Evicted earlier (or never queued): bring it back synchronously
+            Gdx.app.log("ResourceCache", "Reloading " + fileName);
+            if (!manager.contains(fileName)) {
+                manager.load(descriptor);
+            }
+            manager.finishLoadingAsset(descriptor);
+        }
+        track(descriptor);
+        idle.remove(fileName);
+        references.getAndIncrement(fileName, 0, 1);
+        return manager.get(descriptor);
+    }
+
+    public void release(AssetDescriptor<?> descriptor) {
+        String fileName = descriptor.fileName;
+        int remaining = references.getAndIncrement(fileName, 0, -1) - 1;
+        if (remaining > 0) {
+            return;
+        }
+        references.remove(fileName, 0);
+        if (isEvictable(descriptor)) {
+            idle.put(fileName, descriptor);
+            evict();
+        }
+    }
+
+    // Picks up assets the AssetManager finished loading in the background so they count against the budget
+    public void trackLoaded(Iterable<AssetDescriptor<?>> descriptors) {
+        for (AssetDescriptor<?> descriptor : descriptors) {
+            if (!manager.isLoaded(descriptor.fileName) || sizes.containsKey(descriptor.fileName)) {
+                continue;
+            }
+            track(descriptor);
+            if (!references.containsKey(descriptor.fileName) && isEvictable(descriptor)) {
+                idle.put(descriptor.fileName, descriptor);
+            }
+        }
+        evict();
+    }
+
+    public void setBudgetBytes(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+        evict();
+    }
+
+    public long getResidentBytes() {
+        return residentBytes;
+    }
+
+    private void track(AssetDescriptor<?> descriptor) {
+        if (!sizes.containsKey(descriptor.fileName)) {
+            long bytes = estimateBytes(manager.get(descriptor));
+            sizes.put(descriptor.fileName, bytes);
+            residentBytes += bytes;
+        }
+    }
+
+    private void evict() {
+        Iterator<AssetDescriptor<?>> iterator = idle.values().iterator();
+        while (residentBytes > budgetBytes && iterator.hasNext()) {
+            AssetDescriptor<?> descriptor = iterator.next();
+            iterator.remove();
+            residentBytes -= sizes.remove(descriptor.fileName, 0);
+            manager.unload(descriptor.fileName);
+            Gdx.app.log("ResourceCache", "Evicted " + descriptor.fileName + ", resident "
+                + residentBytes / MEGABYTE + "/" + budgetBytes / MEGABYTE + " MB");
+        }
+    }
+
+    private static boolean isEvictable(AssetDescriptor<?> descriptor) {
+        return descriptor.type == Texture.class || descriptor.type == TextureAtlas.class
+            || descriptor.type == BitmapFont.class;
+    }
+
+    private static long estimateBytes(Object asset) {
+        if (asset instanceof Texture) {
+            return textureBytes((Texture) asset);
+        }
+        ObjectSet<Texture> textures = new ObjectSet<>();
+        if (asset instanceof TextureAtlas) {
+            textures.addAll(((TextureAtlas) asset).getTextures());
+        } else if (asset instanceof BitmapFont) {
+            for (TextureRegion region : ((BitmapFont) asset).getRegions()) {
+                textures.add(region.getTexture());
+            }
+        }
+        long bytes = 0;
+        for (Texture texture : textures) {
+            bytes += textureBytes(texture);
+        }
+        return bytes;
+    }
+
+    static long textureBytes(Texture texture) {
+        TextureData data = texture.getTextureData();
+        long bytes = (long) texture.getWidth() * texture.getHeight() * bytesPerPixel(data.getFormat());
+        // A full mip chain adds a third on top of the base level
+        return data.useMipMaps() ? bytes * 4 / 3 : bytes;
+    }
+
+    private static int bytesPerPixel(Pixmap.Format format) {
+        if (format == null) {
+            return 4;
+        }
+        switch (format) {
+            case Alpha:
+            case Intensity:
+                return 1;
+            case LuminanceAlpha:
+            case RGB565:
+            case RGBA4444:
+                return 2;
+            case RGB888:
+                return 3;
+            default:
+                return 4;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.avx20.M4TCH;
+
+// Drives a live round from PlayScreen's frames: each frame's time is clamped, the model advances by the whole
+// ticks in it, then the frame's touch is applied and recorded at the tick the model reached. The remainder carries
+// over to the next frame, so a round plays out the same at any frame rate. No libGDX, so tests can feed it frames.
+public class RoundClock {
+    // A long stall (a GC pause, dragging the window) is not caught up beyond this, so the game slows down
+    // instead of jumping ahead
+    public static final float MAX_FRAME_TIME = 0.25f;
+
+    private final GameModel model;
+    // Null when recording is turned off
+    private final ReplayRecorder recorder;
+    // Frame time not simulated yet, always less than one tick
+    private float accumulator = 0;
+
+    public RoundClock(GameModel model, ReplayRecorder recorder) {
+        this.model = model;
+        this.recorder = recorder;
+    }
+
+    // Runs one frame of delta seconds with a touch on the given cell, or none if it is negative. Returns whether
+    // the model took the touch.
+    public boolean frame(float delta, int touchedCell) {
+        accumulator += Math.min(delta, MAX_FRAME_TIME);
+        while (accumulator >= GameModel.TICK && !model.isOver()) {
+            model.step();
+            accumulator -= GameModel.TICK;
+        }
+
+        int cols = model.getCols();
+        // The model decides whether the tile there can be selected yet
+        if (touchedCell < 0 || !model.select(touchedCell / cols, touchedCell % cols)) {
+            return false;
+        }
+        if (recorder != null) {
+            recorder.select(model.getTicks(), touchedCell);
+        }
+        return true;
+    }
+
+    // Round time including the part of a tick not simulated yet, which tiles animate by between ticks
+    public float getTime() {
+        return model.getTime() + accumulator;
+    }
+
+    public float getAccumulator() {
+        return accumulator;
+    }
+}
@@ -0,0 +1,240 @@
+package io.github.avx20.M4TCH;
+
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+// Draws a round of a GameModel: background, board, particles and HUD, and plays its sounds. It listens to the
+// model and copies every cell the model reports changed into that cell's Tile, so it works the same whether the
+// model is stepped by PlayScreen from touches or by ReplayScreen from a recording.
+public class RoundView implements GameModel.Listener, Disposable {
+    private final M4TCH game;
+    private final GameModel model;
+    private final TileAtlas tileAtlas;
+    private final Viewport viewport;
+    private final ParticleSystem particles;
+    private final Texture gameBackground;
+    private final BitmapFont entryFont;  // The medium font
+    private final Sound matchSuccessSound;
+    private final Sound matchFailSound;
+    private boolean effectsEnabled = true;
+
+    // One view tile per cell for the whole round
+    private final Tile[][] grid;
+    private final int rows;
+    private final int cols;
+    // Where each cell sits in the world, fixed for the round
+    private final BoardLayout layout;
+    private final float tileSize;
+    private float animationTimer = 0;
+    private final BoardCache boardCache;
+    private final TileRenderer tileRenderer;
+
+    // HUD counters; each one lays its text out again only when its value changes
+    private final Hud hud;
+    private final Hud.Field timeField, scoreField, freezeField, comboMultiplierField, instantTilesField, comboField;
+
+    public RoundView(M4TCH game, GameModel model) {
+        this.game = game;
+        this.model = model;
+        this.tileAtlas = game.getTileAtlas();
+        this.particles = game.getParticles();
+        this.viewport = game.getRenderContext().getViewport();
+
+        // Everything here was preloaded by LoadingScreen, so these are lookups only
+        Assets assets = game.getAssets();
+        gameBackground = assets.texture(Assets.GAME_BG);
+        entryFont = game.getFonts().get(43, Color.YELLOW);
+        entryFont.setColor(Color.YELLOW);
+        matchSuccessSound = assets.sound(Assets.MATCH_SUCCESS);
+        matchFailSound = assets.sound(Assets.MATCH_FAIL);
+
+        float top = viewport.getWorldHeight();
+        hud = new Hud(entryFont);
+        timeField = hud.add("Time left: ", 570, top - 50);
+        scoreField = hud.add("Score: ", 1060, top - 50);
+        freezeField = hud.add("Freeze Time: ", 50, top - 150);
+        comboMultiplierField = hud.add("Combo Multiplier: ", 50, top - 200);
+        instantTilesField = hud.add("Instant Tiles: ", 50, top - 250);
+        comboField = hud.add("Combo: x", 50, top - 300);
+
+        rows = model.getRows();
+        cols = model.getCols();
+        layout = new BoardLayout(rows, cols, viewport.getWorldWidth(), viewport.getWorldHeight());
+        tileSize = layout.getTileSize();
+
+        boardCache = new BoardCache(rows, cols, layout.getBoardX(), layout.getBoardY(), tileSize,
+            layout.getPitch() - tileSize);
+        tileRenderer = new TileRenderer(rows, cols, tileSize, tileAtlas.getTexture(),
+            game.getRenderContext().getTileShader());
+
+        grid = new Tile[rows][cols];
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                grid[row][col] = new Tile();
+            }
+        }
+        refreshAll();
+        model.setListener(this);
+    }
+
+    private float slotX(int col) {
+        return layout.slotX(col);
+    }
+
+    private float slotY(int row) {
+        return layout.slotY(row);
+    }
+
+    // The cell under a world point as row * cols + col, or -1 outside the board and in the gaps between tiles
+    public int cellAt(float x, float y) {
+        return layout.cellAt(x, y);
+    }
+
+    // Sounds and particles for matches; off while a replay plays faster than real time
+    public void setEffectsEnabled(boolean enabled) {
+        effectsEnabled = enabled;
+    }
+
+    // Copies every cell again, e.g. after the model jumped to another point of a replay
+    public void refreshAll() {
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                cellChanged(row, col);
+            }
+        }
+    }
+
+    // Forces the HUD to lay out again, with the font's color restored
+    public void invalidateHud() {
+        entryFont.setColor(Color.YELLOW);
+        hud.invalidate();
+    }
+
+    // Sets the time the tiles are drawn at and hands the ones that settled by then to the board cache. Tiles
+    // animate on the GPU from this time; it runs before the screen's viewport is applied, see BoardCache.update
+    public void update(float time) {
+        animationTimer = time;
+        if (boardCache.update(game.getBatch(), viewport, grid, getSelectedTile(), animationTimer)) {
+            syncCachedCells();
+        }
+    }
+
+    // Shows the cells the board cache just took over or gave back in the TileRenderer accordingly
+    private void syncCachedCells() {
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                tileRenderer.setHidden(row, col, boardCache.isCached(row, col), grid[row][col]);
+            }
+        }
+    }
+
+    private Tile getSelectedTile() {
+        int cell = model.getSelectedCell();
+        return cell < 0 ? null : grid[cell / cols][cell % cols];
+    }
+
+    // Background, board and HUD; called between begin() and end() with the viewport's projection
+    public void draw(SpriteBatch batch, boolean shake) {
+        if (gameBackground != null) {
+            batch.draw(gameBackground, 0, 0, viewport.getWorldWidth(), viewport.getWorldHeight());
+        }
+        drawBoard(batch, shake);
+        particles.draw(batch);
+
+        timeField.draw(batch, (int) model.getTimeRemaining());
+        scoreField.draw(batch, model.getScore());
+
+        if (model.isFreezeTimeActive()) {
+            freezeField.draw(batch, (int) model.getFreezeTimeRemaining());
+        }
+        if (model.isComboMultiplierActive()) {
+            comboMultiplierField.draw(batch, (int) model.getComboMultiplierRemaining());
+        }
+        if (model.isInstantTilesActive()) {
+            instantTilesField.draw(batch, (int) model.getInstantTilesRemaining());
+        }
+        if (model.getComboMultiplier() > 1) {
+            comboField.draw(batch, model.getComboMultiplier());
+        }
+    }
+
+    // Settled tiles come from the board cache in one quad, the others from the TileRenderer's single mesh.
+    // Called between begin() and end(); the batch is flushed around the mesh.
+    private void drawBoard(SpriteBatch batch, boolean shake) {
+        boardCache.draw(batch);
+        batch.end();
+        tileRenderer.render(batch.getProjectionMatrix(), animationTimer, shake);
+        batch.begin();
+    }
+
+    // Copies the model's cell into its view tile, uploads it to the TileRenderer again and takes it out of the
+    // board cache until it settles
+    @Override
+    public void cellChanged(int row, int col) {
+        int color = model.getColor(row, col);
+        int number = model.getNumber(row, col);
+        Tile tile = grid[row][col];
+        tile.set(number, color, tileAtlas.getRegion(color, number), slotX(col), slotY(row), col, row)
+            .setAnimation(model.getStartTime(row, col), model.getStartScale(row, col),
+                model.getSpeedMultiplier(row, col), model.isVibrating(row, col));
+        tileRenderer.set(row, col, tile);
+        boardCache.invalidate(row, col);
+    }
+
+    @Override
+    public void matched(int row, int col, int color) {
+        if (effectsEnabled) {
+            matchSuccessSound.play();
+            burst(ParticleSystem.Type.MATCH, row, col, color);
+        }
+    }
+
+    @Override
+    public void starMatched(int row1, int col1, int row2, int col2, int color) {
+        if (effectsEnabled) {
+            matchSuccessSound.play();
+            burst(ParticleSystem.Type.STAR, row1, col1, color);
+            burst(ParticleSystem.Type.STAR, row2, col2, color);
+        }
+    }
+
+    @Override
+    public void mismatched() {
+        if (effectsEnabled) {
+            matchFailSound.play();
+        }
+    }
+
+    @Override
+    public void comboRaised(int level) {
+        if (effectsEnabled) {
+            // Grows with every step of the combo, up to twice the base size
+            particles.spawn(ParticleSystem.Type.COMBO, viewport.getWorldWidth() / 2, slotY(0),
+                Color.GOLD, 1f + 0.25f * Math.min(level, 4));
+        }
+    }
+
+    private void burst(ParticleSystem.Type type, int row, int col, int color) {
+        particles.spawn(type, slotX(col) + tileSize / 2, slotY(row) + tileSize / 2,
+            tileAtlas.getTint(color), 1f);
+    }
+
+    @Override
+    public void dispose() {
+        model.setListener(null);
+        particles.clear(); // The effects themselves belong to M4TCH
+        boardCache.dispose();
+        tileRenderer.dispose();
+
+        // Sounds and background go back to the shared cache; tile regions belong to the TileAtlas, the font to FontService
+        Assets assets = game.getAssets();
+        assets.release(Assets.GAME_BG);
+        assets.release(Assets.MATCH_SUCCESS);
+        assets.release(Assets.MATCH_FAIL);
+    }
+}
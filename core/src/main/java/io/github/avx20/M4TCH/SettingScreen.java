@@ -12,10 +12,9 @@ import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector3;
-import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 
-public class SettingScreen implements Screen {
+public class SettingScreen implements Screen, M4TCH.StaticScreen {
     private final M4TCH game;
     private SpriteBatch batch;
     private Viewport viewport;
@@ -39,6 +38,8 @@ public class SettingScreen implements Screen {
 
     // Always use generated textures for safety
     private boolean useGeneratedTextures = true;
+    // True when the background is the generated fallback rather than the AssetManager's game_bg.png
+    private boolean ownsBackgroundTexture = false;
 
     // Volume bar and button dimensions
     private static final float VOLUME_BAR_WIDTH = 600f;
@@ -49,31 +50,21 @@ public class SettingScreen implements Screen {
 
     public SettingScreen(M4TCH game) {
         this.game = game;
-        this.viewport = new FitViewport(1920, 1080);
-        this.batch = new SpriteBatch();
+        this.viewport = game.getRenderContext().getViewport();
+        this.batch = game.getBatch();
 
         // Initial volume from global setting
         this.volumeLevel = M4TCH.gameVolume;
 
-        // First try to load background - if it fails, we'll use generated textures
-        try {
-            this.backgroundTexture = new Texture(Gdx.files.internal("game_bg.png"));
-        } catch (Exception e) {
-            Gdx.app.log("SettingScreen", "Background texture loading failed, will use generated texture", e);
-            // Will generate later in createGeneratedTextures()
-        }
+        // Use the preloaded background - if it failed to load, we'll use generated textures
+        this.backgroundTexture = game.getAssets().texture(Assets.GAME_BG);
 
         // Create all textures
         createGeneratedTextures();
 
-        // Initialize fonts
-        this.titleFont = new BitmapFont();
-        this.titleFont.getData().setScale(3.0f);
-        this.titleFont.setColor(Color.WHITE);
-
-        this.normalFont = new BitmapFont();
-        this.normalFont.getData().setScale(2.0f);
-        this.normalFont.setColor(Color.WHITE);
+        // Shared fonts, owned by FontService
+        this.titleFont = game.getFonts().get(45, Color.WHITE);
+        this.normalFont = game.getFonts().get(30, Color.WHITE);
 
         // Initialize volume bar position and size
         float centerX = viewport.getWorldWidth() / 2;
@@ -98,16 +89,14 @@ public class SettingScreen implements Screen {
         );
 
         // Try to load and play background music
-        try {
-            bgm = Gdx.audio.newMusic(Gdx.files.internal("bgmmusic.mp3"));
+        bgm = game.getAssets().music(Assets.BGM);
+        if (bgm != null) {
             bgm.setLooping(true);
 
             // Apply volume with special handling for very low values
             applyVolume();
 
             bgm.play();
-        } catch (Exception e) {
-            Gdx.app.log("SettingsScreen", "Background music loading failed", e);
         }
     }
 
@@ -133,6 +122,7 @@ public class SettingScreen implements Screen {
             bgPixmap.setColor(new Color(0.1f, 0.1f, 0.2f, 1f));
             bgPixmap.fill();
             backgroundTexture = new Texture(bgPixmap);
+            ownsBackgroundTexture = true;
             bgPixmap.dispose();
         }
 
@@ -187,9 +177,13 @@ public class SettingScreen implements Screen {
 
         // Handle input
         handleInput();
+        if (game.getScreen() != this) {
+            // safeReturn switched screens; this instance is not shown again
+            dispose();
+            return;
+        }
 
-        viewport.apply();
-        batch.setProjectionMatrix(viewport.getCamera().combined);
+        game.getRenderContext().apply();
 
         batch.begin();
 
@@ -326,8 +320,7 @@ public class SettingScreen implements Screen {
         if (game.isPaused()) {
             try {
                 // Return to pause menu if coming from a paused game
-                PauseMenu pauseMenu = new PauseMenu(game, game.getPlayScreen());
-                game.setScreen(pauseMenu);
+                game.setScreen(game.getPauseMenu());
             } catch (Exception e) {
                 Gdx.app.error("SettingsScreen", "Error creating pause menu", e);
                 // Fallback to home screen if pause menu creation fails
@@ -339,27 +332,24 @@ public class SettingScreen implements Screen {
             game.setPaused(false);
             game.setScreen(new HomeScreen(game));
         }
-
-        // Resources will be disposed by LibGDX when this screen is replaced
     }
 
     @Override
     public void resize(int width, int height) {
-        viewport.update(width, height, true);
+        // The shared viewport is resized by M4TCH
     }
 
     @Override
     public void dispose() {
         try {
-            if (batch != null) batch.dispose();
-            if (backgroundTexture != null) backgroundTexture.dispose();
+            if (ownsBackgroundTexture) backgroundTexture.dispose();
             if (volumeBarTexture != null) volumeBarTexture.dispose();
             if (volumeBarFillTexture != null) volumeBarFillTexture.dispose();
             if (volumeKnobTexture != null) volumeKnobTexture.dispose();
             if (backButtonTexture != null) backButtonTexture.dispose();
-            if (titleFont != null) titleFont.dispose();
-            if (normalFont != null) normalFont.dispose();
-            if (bgm != null) bgm.dispose();
+            // Background and music go back to the shared cache
+            game.getAssets().release(Assets.GAME_BG);
+            game.getAssets().release(Assets.BGM);
         } catch (Exception e) {
             Gdx.app.error("SettingsScreen", "Error in dispose", e);
         }
@@ -0,0 +1,159 @@
+package io.github.avx20.M4TCH;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.assets.loaders.TextureLoader;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.graphics.glutils.PixmapTextureData;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+// Replaces the AssetManager's TextureLoader for every texture, including atlas and font pages.
+// Images are decoded on a pool of worker threads: Assets prefetches each file as soon as it is queued, so
+// decoding runs in parallel and well ahead of the AssetManager's own (single) loading thread. The render
+// thread only uploads, and Assets.update stops stepping the AssetManager once this frame's upload budget
+// is spent. A single texture larger than the budget still goes up on its own and counts as over budget.
+public class StreamingTextureLoader extends AsynchronousAssetLoader<Texture, TextureLoader.TextureParameter>
+    implements Disposable {
+
+    private final AsyncExecutor decoders;
+    // Keyed by file path; filled on the render thread, drained on the AssetManager's thread
+    private final ConcurrentHashMap<String, AsyncResult<Pixmap>> decoding = new ConcurrentHashMap<>();
+    // Keyed by asset file name; prepared by loadAsync, uploaded by loadSync
+    private final ConcurrentHashMap<String, TextureData> prepared = new ConcurrentHashMap<>();
+
+    private final long frameBudgetBytes;
+    private long frameBytes = 0;
+    private int uploadFrames = 0;
+    private int framesOverBudget = 0;
+
+    public StreamingTextureLoader(FileHandleResolver resolver, long frameBudgetBytes) {
+        super(resolver);
+        this.frameBudgetBytes = frameBudgetBytes;
+        // Leave one core for the render thread
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        decoders = new AsyncExecutor(threads, "TextureDecoder");
+    }
+
+    // Starts decoding an image before the AssetManager gets to it
+    public void prefetch(FileHandle file) {
+        if (isImage(file)) {
+            decoding.computeIfAbsent(file.path(), path -> decoders.submit(() -> new Pixmap(file)));
+        }
+    }
+
+    // Drops decoded images nothing asked for, e.g. a page whose texture was already loaded
+    public void discardPrefetched() {
+        for (AsyncResult<Pixmap> pending : decoding.values()) {
+            pending.get().dispose();
+        }
+        decoding.clear();
+    }
+
+    @Override
+    public void loadAsync(AssetManager manager, String fileName, FileHandle file, TextureLoader.TextureParameter parameter) {
+        Pixmap.Format format = parameter != null ? parameter.format : null;
+        boolean genMipMaps = parameter != null && parameter.genMipMaps;
+
+        if (!isImage(file)) {
+            // Compressed formats (KTX/ETC1) are handled exactly like TextureLoader does
+            TextureData data = TextureData.Factory.loadFromFile(file, format, genMipMaps);
+            if (!data.isPrepared()) data.prepare();
+            prepared.put(fileName, data);
+            return;
+        }
+
+        AsyncResult<Pixmap> pending = decoding.remove(file.path());
+        Pixmap pixmap = pending != null ? pending.get() : new Pixmap(file);
+        if (format != null && format != pixmap.getFormat()) {
+            // Convert here rather than letting the upload do it on the render thread
+            Pixmap converted = new Pixmap(pixmap.getWidth(), pixmap.getHeight(), format);
+            converted.setBlending(Pixmap.Blending.None);
+            converted.drawPixmap(pixmap, 0, 0);
+            pixmap.dispose();
+            pixmap = converted;
+        }
+        prepared.put(fileName, new PixmapTextureData(pixmap, pixmap.getFormat(), genMipMaps, true));
+    }
+
+    @Override
+    public Texture loadSync(AssetManager manager, String fileName, FileHandle file, TextureLoader.TextureParameter parameter) {
+        TextureData data = prepared.remove(fileName);
+        Texture texture;
+        if (parameter != null && parameter.texture != null) {
+            texture = parameter.texture;
+            texture.load(data);
+        } else {
+            texture = new Texture(data);
+        }
+        if (parameter != null) {
+            texture.setFilter(parameter.minFilter, parameter.magFilter);
+            texture.setWrap(parameter.wrapU, parameter.wrapV);
+        }
+        frameBytes += ResourceCache.textureBytes(texture);
+        return texture;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Array<AssetDescriptor> getDependencies(String fileName, FileHandle file, TextureLoader.TextureParameter parameter) {
+        return null;
+    }
+
+    public void beginFrame() {
+        frameBytes = 0;
+    }
+
+    public boolean hasFrameBudget() {
+        return frameBytes < frameBudgetBytes;
+    }
+
+    public void endFrame() {
+        if (frameBytes == 0) {
+            return;
+        }
+        uploadFrames++;
+        if (frameBytes > frameBudgetBytes) {
+            framesOverBudget++;
+            Gdx.app.log("StreamingTextureLoader", "Uploaded " + frameBytes / 1024 + " KB in one frame (budget "
+                + frameBudgetBytes / 1024 + " KB)");
+        }
+    }
+
+    // Frames that uploaded anything, and how many of those went over the budget
+    public int getUploadFrames() {
+        return uploadFrames;
+    }
+
+    public int getFramesOverBudget() {
+        return framesOverBudget;
+    }
+
+    private static boolean isImage(FileHandle file) {
+        String extension = file.extension().toLowerCase();
+        return extension.equals("png") || extension.equals("jpg") || extension.equals("jpeg")
+            || extension.equals("bmp");
+    }
+
+    @Override
+    public void dispose() {
+        decoders.dispose();
+        discardPrefetched();
+        for (TextureData data : prepared.values()) {
+            if (data instanceof PixmapTextureData) {
+                data.consumePixmap().dispose();
+            }
+        }
+        prepared.clear();
+    }
+}
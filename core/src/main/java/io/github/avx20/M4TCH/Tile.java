@@ -1,141 +1,104 @@
 package io.github.avx20.M4TCH;
 
-import com.badlogic.gdx.graphics.Texture;
-import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
 
+// What PlayScreen draws for one cell of the GameModel. Each cell keeps its Tile for the whole round and copies
+// the model's cell into it whenever the model reports a change, so nothing is allocated during play.
+// A tile doesn't step its pop-in animation: its scale is a function of the game's animation time, growing from
+// startScale at startTime. TileRenderer evaluates the same function on the GPU, so nothing is updated per frame.
 public class Tile {
+    public static final float GROW_RATE = GameModel.GROW_RATE;
+
     private int number;
-    private String color;
-    private Texture texture;
-    private Vector2 position;
-    private Rectangle bounds;
-    private float scale = 0.0f;
-    private float appearTime;
-    private boolean fullyVisible = false;
+    private int color; // GameModel.RED, BLUE or GREEN
+    private TextureRegion region;
+    private final Vector2 position = new Vector2();
+    private float startScale = 0.0f;
+    private float startTime;
     private boolean vibrating = false;
     private float speedMultiplier = 1.0f;
-    private final float TILE_SIZE = 200;
-    private final int gridX;
-    private final int gridY;
+    private int gridX;
+    private int gridY;
 
-    public Tile(int number, String color, Texture texture, Vector2 position, int gridX, int gridY) {
+    public Tile set(int number, int color, TextureRegion region, float x, float y, int gridX, int gridY) {
         this.number = number;
         this.color = color;
-        this.texture = texture;
-        this.position = new Vector2(position);
-        this.bounds = new Rectangle(position.x, position.y, TILE_SIZE, TILE_SIZE);
+        this.region = region;
+        this.position.set(x, y);
         this.gridX = gridX;
         this.gridY = gridY;
-        this.appearTime = gridY * 0.4f + gridX * 0.1f;
-    }
-
-    // Copy Constructor
-    public Tile(Tile other) {
-        this.number = other.number;
-        this.color = other.color;
-        this.texture = new Texture(other.texture.getTextureData()); // Create a new Texture instance
-        this.position = new Vector2(other.position);
-        this.bounds = new Rectangle(other.bounds);
-        this.scale = other.scale;
-        this.appearTime = other.appearTime;
-        this.fullyVisible = other.fullyVisible;
-        this.vibrating = other.vibrating;
-        this.speedMultiplier = other.speedMultiplier;
-        this.gridX = other.gridX;
-        this.gridY = other.gridY;
-    }
-
-    public void update(float elapsedTime) {
-        if (elapsedTime >= appearTime && scale < 1.0f) {
-            scale = Math.min(1.0f, scale + 0.06f * speedMultiplier);
-            if (scale >= 1.0f) {
-                fullyVisible = true;
-            }
-        }
-        updateBounds();
+        return this;
     }
 
-    private void updateBounds() {
-        float scaledWidth = TILE_SIZE * scale;
-        float scaledHeight = TILE_SIZE * scale;
-        float offsetX = (TILE_SIZE - scaledWidth) / 2;
-        float offsetY = (TILE_SIZE - scaledHeight) / 2;
-
-        bounds.set(
-                position.x + offsetX,
-                position.y + offsetY,
-                scaledWidth,
-                scaledHeight
-        );
+    public Tile setAnimation(float startTime, float startScale, float speedMultiplier, boolean vibrating) {
+        this.startTime = startTime;
+        this.startScale = startScale;
+        this.speedMultiplier = speedMultiplier;
+        this.vibrating = vibrating;
+        return this;
     }
 
     // Getters
-    public boolean isFullyVisible() {
-        return fullyVisible;
-    }
-
-    public float getScale() {
-        return scale;
-    }
 
-    public Vector2 getPosition() {
-        return new Vector2(position); // Return a copy
+    public float getScale(float time) {
+        return Math.min(1.0f, startScale + Math.max(0f, time - startTime) * GROW_RATE * speedMultiplier);
     }
 
-    public Texture getTexture() {
-        return texture;
+    // When the tile reaches full size if nothing changes it, or infinity while it is shaking
+    public float getSettleTime() {
+        if (vibrating) {
+            return Float.POSITIVE_INFINITY;
+        }
+        return startTime + Math.max(0f, 1.0f - startScale) / (GROW_RATE * speedMultiplier);
     }
 
-    public int getNumber() {
-        return number;
+    public float getStartTime() {
+        return startTime;
     }
 
-    public String getColor() {
-        return color;
+    public float getStartScale() {
+        return startScale;
     }
 
-    public Rectangle getBounds() {
-        return new Rectangle(bounds); // Return a copy
+    public float getSpeedMultiplier() {
+        return speedMultiplier;
     }
 
-    public int getGridX() {
-        return gridX;
+    public float getX() {
+        return position.x;
     }
 
-    public int getGridY() {
-        return gridY;
+    public float getY() {
+        return position.y;
     }
 
-    public boolean isVibrating() {
-        return vibrating;
+    // Read-only: the tile's own vector, not a copy, so callers must not change it
+    public Vector2 getPosition() {
+        return position;
     }
 
-
-    // Setters
-    public void setTexture(Texture texture) {
-        this.texture = texture;
+    public TextureRegion getRegion() {
+        return region;
     }
 
-    public void setNumber(int number) {
-        this.number = number;
+    public int getNumber() {
+        return number;
     }
 
-    public void setScale(float scale) {
-        this.scale = scale;
+    public int getColor() {
+        return color;
     }
 
-    public void setAppearTime(float time) {
-        this.appearTime = time;
-        this.scale = 0.0f;
-        this.fullyVisible = false;
+    public int getGridX() {
+        return gridX;
     }
 
-    public void setSpeedMultiplier(float multiplier) {
-        this.speedMultiplier = multiplier;
+    public int getGridY() {
+        return gridY;
     }
 
-    public void setVibrating(boolean vibrating) {
-        this.vibrating = vibrating;
+    public boolean isVibrating() {
+        return vibrating;
     }
-}
\ No newline at end of file
+}
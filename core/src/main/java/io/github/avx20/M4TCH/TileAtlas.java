@@ -0,0 +1,63 @@
+package io.github.avx20.M4TCH;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+// Registry of every tile image, backed by the "tiles" atlas produced by :core:packTextures.
+// All tiles on the board share this one texture, so drawing the grid is a single bind
+// and spawning a tile never uploads anything to the GPU. The atlas itself is owned by the AssetManager.
+public class TileAtlas {
+    public static final String ATLAS_FILE = "tiles.atlas";
+    // Indexed by GameModel.RED, BLUE and GREEN
+    public static final String[] COLORS = {"red", "blue", "green"};
+    // What each color's effects are tinted with, same order as COLORS
+    private static final Color[] TINTS = {
+        new Color(1f, 0.35f, 0.3f, 1f), new Color(0.35f, 0.6f, 1f, 1f), new Color(0.4f, 1f, 0.4f, 1f)
+    };
+    // Indexed by tile number - 1 (1 = base tile, 2 = intermediate tile, 3 = star tile)
+    private static final String[] TIERS = {"one", "2", "star"};
+
+    private final TextureAtlas atlas;
+    private final TextureRegion[][] regions = new TextureRegion[COLORS.length][TIERS.length];
+
+    public TileAtlas(TextureAtlas atlas) {
+        this.atlas = atlas;
+
+        for (int c = 0; c < COLORS.length; c++) {
+            for (int t = 0; t < TIERS.length; t++) {
+                String name = COLORS[c] + "_tile_" + TIERS[t];
+                regions[c][t] = atlas.findRegion(name);
+                if (regions[c][t] == null) {
+                    throw new IllegalStateException("Missing tile region '" + name + "' in " + ATLAS_FILE);
+                }
+                if (regions[c][t].getTexture() != regions[0][0].getTexture()) {
+                    throw new IllegalStateException("Tile region '" + name + "' is not on the first page of " + ATLAS_FILE);
+                }
+            }
+        }
+
+        Gdx.app.log("TileAtlas", "Loaded " + (COLORS.length * TIERS.length) + " tile regions from "
+            + atlas.getTextures().size + " page(s)");
+    }
+
+    // Returns the shared region for a tile; never allocates
+    public TextureRegion getRegion(int color, int number) {
+        return regions[color][number - 1];
+    }
+
+    public Color getTint(int color) {
+        return TINTS[color];
+    }
+
+    // The page every tile region is on
+    public Texture getTexture() {
+        return regions[0][0].getTexture();
+    }
+
+    public TextureAtlas getAtlas() {
+        return atlas;
+    }
+}
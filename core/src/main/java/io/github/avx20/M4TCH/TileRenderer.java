@@ -0,0 +1,173 @@
+package io.github.avx20.M4TCH;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Disposable;
+
+// Draws the board's tiles from one mesh whose vertices only change when a tile does (set, setHidden). Each quad
+// carries its cell, its atlas region and its animation parameters; the vertex shader works out the pop-in scale
+// and the mismatch shake from a time uniform, with the same formula as Tile.getScale. A frame costs a few
+// uniforms and one draw call however many tiles are animating.
+// All tile regions must come from the same texture, which TileAtlas guarantees. The shader is compiled once by
+// RenderContext (see createShader) and shared by every round's renderer.
+public class TileRenderer implements Disposable {
+    private static final String VERTEX_SHADER = ""
+        + "attribute vec2 a_position;\n" // Bottom-left corner of the cell
+        + "attribute vec2 a_corner;\n" // 0 or 1 on each axis; 0.5 collapses a hidden quad
+        + "attribute vec2 a_texCoord0;\n"
+        + "attribute vec4 a_anim;\n" // Start time, start scale, speed multiplier, shaking (0 or 1)
+        + "uniform mat4 u_projTrans;\n"
+        + "uniform float u_time;\n"
+        + "uniform float u_cellSize;\n"
+        + "uniform float u_growRate;\n"
+        + "uniform float u_shake;\n"
+        + "varying vec2 v_texCoords;\n"
+        + "void main() {\n"
+        + "    float scale = min(1.0, a_anim.y + max(0.0, u_time - a_anim.x) * u_growRate * a_anim.z);\n"
+        + "    float shake = a_anim.w * u_shake * sin(u_time * 30.0);\n"
+        + "    vec2 position = a_position + u_cellSize * (0.5 + (a_corner - 0.5) * scale) + shake;\n"
+        + "    v_texCoords = a_texCoord0;\n"
+        + "    gl_Position = u_projTrans * vec4(position, 0.0, 1.0);\n"
+        + "}\n";
+    private static final String FRAGMENT_SHADER = ""
+        + "#ifdef GL_ES\n"
+        + "precision mediump float;\n"
+        + "#endif\n"
+        + "varying vec2 v_texCoords;\n"
+        + "uniform sampler2D u_texture;\n"
+        + "void main() {\n"
+        + "    gl_FragColor = texture2D(u_texture, v_texCoords);\n"
+        + "}\n";
+
+    private static final int FLOATS_PER_VERTEX = 10;
+    private static final int FLOATS_PER_TILE = 4 * FLOATS_PER_VERTEX;
+    // Corners in drawing order: bottom-left, top-left, top-right, bottom-right
+    private static final float[] CORNER_X = {0, 0, 1, 1};
+    private static final float[] CORNER_Y = {0, 1, 1, 0};
+    // Pixels the shake moves a tile at most
+    private static final float SHAKE_AMOUNT = 5;
+
+    private final int cols;
+    private final float cellSize;
+    private final Texture texture;
+    private final ShaderProgram shader;
+    private final Mesh mesh;
+    private final float[] vertices;
+    private final boolean[] hidden;
+    private boolean dirty = true;
+
+    // The shader is only borrowed and must come from createShader()
+    public TileRenderer(int rows, int cols, float cellSize, Texture texture, ShaderProgram shader) {
+        this.cols = cols;
+        this.cellSize = cellSize;
+        this.texture = texture;
+        this.shader = shader;
+
+        int tiles = rows * cols;
+        mesh = new Mesh(false, tiles * 4, tiles * 6,
+            new VertexAttribute(VertexAttributes.Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+            new VertexAttribute(VertexAttributes.Usage.Generic, 2, "a_corner"),
+            new VertexAttribute(VertexAttributes.Usage.TextureCoordinates, 2, ShaderProgram.TEXCOORD_ATTRIBUTE + "0"),
+            new VertexAttribute(VertexAttributes.Usage.Generic, 4, "a_anim"));
+        short[] indices = new short[tiles * 6];
+        for (int i = 0, v = 0; i < indices.length; i += 6, v += 4) {
+            indices[i] = (short) v;
+            indices[i + 1] = (short) (v + 1);
+            indices[i + 2] = (short) (v + 2);
+            indices[i + 3] = (short) (v + 2);
+            indices[i + 4] = (short) (v + 3);
+            indices[i + 5] = (short) v;
+        }
+        mesh.setIndices(indices);
+        vertices = new float[tiles * FLOATS_PER_TILE];
+        hidden = new boolean[tiles];
+        for (int i = 0; i < tiles; i++) {
+            write(i, null);
+        }
+    }
+
+    public static ShaderProgram createShader() {
+        ShaderProgram shader = new ShaderProgram(VERTEX_SHADER, FRAGMENT_SHADER);
+        if (!shader.isCompiled()) {
+            throw new IllegalArgumentException("Error compiling tile shader: " + shader.getLog());
+        }
+        return shader;
+    }
+
+    // Call whenever the tile in a cell is replaced or its region, animation or shaking changes; null empties it
+    public void set(int row, int col, Tile tile) {
+        write(row * cols + col, tile);
+    }
+
+    // Hidden cells are skipped, e.g. while BoardCache draws them; the tile must be set() again afterwards
+    public void setHidden(int row, int col, boolean hidden, Tile tile) {
+        int i = row * cols + col;
+        if (this.hidden[i] != hidden) {
+            this.hidden[i] = hidden;
+            write(i, tile);
+        }
+    }
+
+    private void write(int index, Tile tile) {
+        int offset = index * FLOATS_PER_TILE;
+        boolean visible = tile != null && !hidden[index];
+        TextureRegion region = visible ? tile.getRegion() : null;
+        for (int corner = 0; corner < 4; corner++) {
+            int v = offset + corner * FLOATS_PER_VERTEX;
+            if (!visible) {
+                for (int f = 0; f < FLOATS_PER_VERTEX; f++) {
+                    vertices[v + f] = 0;
+                }
+                vertices[v + 2] = 0.5f;
+                vertices[v + 3] = 0.5f;
+                continue;
+            }
+            vertices[v] = tile.getX();
+            vertices[v + 1] = tile.getY();
+            vertices[v + 2] = CORNER_X[corner];
+            vertices[v + 3] = CORNER_Y[corner];
+            vertices[v + 4] = CORNER_X[corner] == 0 ? region.getU() : region.getU2();
+            vertices[v + 5] = CORNER_Y[corner] == 0 ? region.getV2() : region.getV();
+            vertices[v + 6] = tile.getStartTime();
+            vertices[v + 7] = tile.getStartScale();
+            vertices[v + 8] = tile.getSpeedMultiplier();
+            vertices[v + 9] = tile.isVibrating() ? 1 : 0;
+        }
+        dirty = true;
+    }
+
+    // Draws every visible tile as it looks at the given animation time. Call outside of a SpriteBatch's
+    // begin()/end(); shake turns the mismatch shake off, e.g. while the game is paused.
+    public void render(Matrix4 projection, float time, boolean shake) {
+        if (dirty) {
+            mesh.setVertices(vertices);
+            dirty = false;
+        }
+
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        texture.bind(0);
+        shader.bind();
+        shader.setUniformMatrix("u_projTrans", projection);
+        shader.setUniformi("u_texture", 0);
+        shader.setUniformf("u_time", time);
+        shader.setUniformf("u_cellSize", cellSize);
+        shader.setUniformf("u_growRate", Tile.GROW_RATE);
+        shader.setUniformf("u_shake", shake ? SHAKE_AMOUNT : 0);
+        mesh.render(shader, GL20.GL_TRIANGLES);
+        Gdx.gl.glDisable(GL20.GL_BLEND);
+    }
+
+    @Override
+    public void dispose() {
+        // The shader belongs to RenderContext
+        mesh.dispose();
+    }
+}
@@ -0,0 +1,171 @@
+package io.github.avx20.M4TCH;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Preferences;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.backends.headless.mock.graphics.MockGraphics;
+import com.badlogic.gdx.backends.headless.mock.input.MockInput;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+// A steady-state gameplay frame must not allocate: GC pauses show up as dropped frames on the low-end kiosks.
+// Builds the game headless on NullGL20 with its real assets, starts an 8x8 round and renders PlayScreen frame by
+// frame, tapping tiles through Gdx.input, then checks the thread's allocated byte count doesn't move.
+// The JIT still allocates a few hundred bytes on the thread now and then as background compiles land and methods
+// deoptimize (none of it happens under -Xint), so the count is taken over windows of frames and one clean window
+// passes. Anything the game itself allocates per frame, per tap or per match shows up in every window.
+class AllocationTest {
+    private static final int WARMUP_FRAMES = 600;
+    private static final int WINDOW_FRAMES = 100;
+    private static final int MAX_WINDOWS = 8; // Ends well before the round does
+    private static final float FRAME_TIME = 1 / 30f; // Two ticks a frame
+    private static final int SIZE = GameModel.MAX_SIZE;
+
+    private static HeadlessApplication app;
+    private static M4TCH game;
+    private static final Taps input = new Taps();
+    // Screen coordinates of the middle of each cell
+    private static final int[] tapX = new int[SIZE * SIZE];
+    private static final int[] tapY = new int[SIZE * SIZE];
+
+    @BeforeAll
+    static void setUp() {
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        // A directory that doesn't exist, so the game starts from its defaults whatever the machine has saved
+        config.preferencesDirectory = ".m4tch-allocation-test/";
+        app = new HeadlessApplication(new ApplicationAdapter() {}, config);
+        Gdx.gl = Gdx.gl20 = new NullGL20();
+        Gdx.graphics = new Window();
+        Gdx.input = input;
+
+        // Set in memory only; never flushed
+        Preferences settings = Gdx.app.getPreferences("M4TCHSettings");
+        settings.putInteger("boardRows", SIZE);
+        settings.putInteger("boardCols", SIZE);
+        settings.putBoolean("recordReplays", false);
+
+        game = new M4TCH();
+        game.create();
+        game.resize(Window.WIDTH, Window.HEIGHT);
+        // What LoadingScreen does when its queue is done
+        game.getAssets().queueGame();
+        game.getAssets().finishLoading();
+        game.startGame();
+
+        // The window is the size of the world, so a screen point is the world point with y pointing down
+        BoardLayout layout = new BoardLayout(SIZE, SIZE, RenderContext.WORLD_WIDTH, RenderContext.WORLD_HEIGHT);
+        float middle = layout.getTileSize() / 2;
+        for (int cell = 0; cell < SIZE * SIZE; cell++) {
+            tapX[cell] = Math.round(layout.slotX(cell % SIZE) + middle);
+            tapY[cell] = Window.HEIGHT - Math.round(layout.slotY(cell / SIZE) + middle);
+        }
+    }
+
+    @AfterAll
+    static void tearDown() {
+        game.dispose();
+        app.exit();
+    }
+
+    // A tap on a different cell every other frame, walking the board, then one frame of PlayScreen.
+    // Returns whether the tap selected its tile.
+    private static boolean frame(PlayScreen screen, int frame) {
+        int cell = frame / 2 % (SIZE * SIZE);
+        input.touched = frame % 2 == 0;
+        input.x = tapX[cell];
+        input.y = tapY[cell];
+        screen.render(FRAME_TIME);
+        return input.touched && screen.getModel().getSelectedCell() == cell;
+    }
+
+    @Test
+    void steadyStateFrameAllocatesNothing() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assertTrue(threads.isThreadAllocatedMemorySupported(), "JVM can't count allocated bytes");
+        threads.setThreadAllocatedMemoryEnabled(true);
+        long thread = Thread.currentThread().getId();
+
+        // Loads every class, compiles the hot paths and sizes every buffer a frame touches
+        PlayScreen screen = game.getPlayScreen();
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            frame(screen, i);
+        }
+
+        int frame = WARMUP_FRAMES;
+        long[] allocated = new long[MAX_WINDOWS];
+        for (int window = 0; window < MAX_WINDOWS; window++) {
+            int selected = 0;
+            long before = threads.getThreadAllocatedBytes(thread);
+            for (int i = 0; i < WINDOW_FRAMES; i++) {
+                selected += frame(screen, frame++) ? 1 : 0;
+            }
+            allocated[window] = threads.getThreadAllocatedBytes(thread) - before;
+
+            assertFalse(screen.getModel().isOver(), "round ended while measuring");
+            assertTrue(game.getScreen() == screen, "PlayScreen was left while measuring");
+            assertTrue(selected > 0, "no tap selected a tile");
+            if (allocated[window] == 0) {
+                return;
+            }
+        }
+        fail("bytes allocated by each window of " + WINDOW_FRAMES + " frames: " + Arrays.toString(allocated));
+    }
+
+    // A 1920x1080 window, so the viewport maps touches as on a full HD screen; the headless one is 0x0
+    private static class Window extends MockGraphics {
+        static final int WIDTH = 1920;
+        static final int HEIGHT = 1080;
+
+        @Override
+        public int getWidth() {
+            return WIDTH;
+        }
+
+        @Override
+        public int getHeight() {
+            return HEIGHT;
+        }
+
+        @Override
+        public int getBackBufferWidth() {
+            return WIDTH;
+        }
+
+        @Override
+        public int getBackBufferHeight() {
+            return HEIGHT;
+        }
+    }
+
+    // Reports a touch that went down since the last frame while touched is set, at (x, y)
+    private static class Taps extends MockInput {
+        boolean touched;
+        int x;
+        int y;
+
+        @Override
+        public boolean justTouched() {
+            return touched;
+        }
+
+        @Override
+        public int getX() {
+            return x;
+        }
+
+        @Override
+        public int getY() {
+            return y;
+        }
+    }
+}
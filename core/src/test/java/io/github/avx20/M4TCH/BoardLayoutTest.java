@@ -0,0 +1,99 @@
+package io.github.avx20.M4TCH;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// RoundView.cellAt is BoardLayout.cellAt: touches on a tile select it, touches in a gap or off the board don't
+class BoardLayoutTest {
+    private static final float WIDTH = RenderContext.WORLD_WIDTH;
+    private static final float HEIGHT = RenderContext.WORLD_HEIGHT;
+
+    @Test
+    void fourByFourSitsInTheMiddleOfTheWorld() {
+        BoardLayout layout = new BoardLayout(4, 4, WIDTH, HEIGHT);
+        assertEquals(220, layout.getTileSize());
+        assertEquals(225, layout.getPitch());
+        assertEquals((WIDTH - 900) / 2, layout.getBoardX());
+        assertEquals((HEIGHT - 900) / 2, layout.getBoardY());
+
+        float x = layout.getBoardX();
+        float y = layout.getBoardY();
+        assertEquals(0, layout.cellAt(x + 110, y + 110)); // Centre of the first tile
+        assertEquals(6, layout.cellAt(x + 2 * 225 + 110, y + 225 + 110));
+        assertEquals(0, layout.cellAt(x, y)); // Its corner
+        assertEquals(0, layout.cellAt(x + 220, y + 220)); // Its far corner
+        assertEquals(-1, layout.cellAt(x + 222, y + 110)); // The gap to its right
+        assertEquals(-1, layout.cellAt(x + 110, y + 222)); // The gap above it
+        assertEquals(-1, layout.cellAt(x + 222, y + 222)); // Where two gaps cross
+        assertEquals(15, layout.cellAt(x + 894, y + 894)); // Just inside the last tile, which ends at 895
+        assertEquals(-1, layout.cellAt(x + 897, y + 894)); // Past it, in the gap a tile would have after it
+        assertEquals(-1, layout.cellAt(x + 901, y + 110));
+        assertEquals(-1, layout.cellAt(x + 110, y + 901));
+        assertEquals(-1, layout.cellAt(x - 1, y + 110));
+        assertEquals(-1, layout.cellAt(x + 110, y - 1));
+        assertEquals(-1, layout.cellAt(0, 0));
+        assertEquals(-1, layout.cellAt(WIDTH, HEIGHT));
+        assertEquals(-1, layout.cellAt(-1000, -1000));
+    }
+
+    @Test
+    void eightByEightHalvesTheTiles() {
+        BoardLayout layout = new BoardLayout(8, 8, WIDTH, HEIGHT);
+        assertEquals(110, layout.getTileSize());
+        assertEquals(112.5f, layout.getPitch());
+        // The same square as 4x4
+        assertEquals(new BoardLayout(4, 4, WIDTH, HEIGHT).getBoardX(), layout.getBoardX());
+        assertEquals(new BoardLayout(4, 4, WIDTH, HEIGHT).getBoardY(), layout.getBoardY());
+
+        float x = layout.getBoardX();
+        float y = layout.getBoardY();
+        assertEquals(0, layout.cellAt(x + 55, y + 55));
+        assertEquals(8 * 7 + 3, layout.cellAt(x + 3 * 112.5f + 55, y + 7 * 112.5f + 55));
+        assertEquals(-1, layout.cellAt(x + 111, y + 55));
+        assertEquals(1, layout.cellAt(x + 113, y + 55));
+        assertEquals(63, layout.cellAt(x + 897, y + 897));
+        assertEquals(-1, layout.cellAt(x + 898, y + 897));
+        assertEquals(-1, layout.cellAt(x + 901, y + 897));
+        assertEquals(-1, layout.cellAt(x - 1, y));
+    }
+
+    // Every cell of boards from 2x2 to 8x8, square or not: the centre and corners of its tile, and the gaps beside it
+    @Test
+    void everyBoardSizeMapsBackToItsCells() {
+        for (int rows = GameModel.MIN_SIZE; rows <= GameModel.MAX_SIZE; rows++) {
+            for (int cols = GameModel.MIN_SIZE; cols <= GameModel.MAX_SIZE; cols++) {
+                BoardLayout layout = new BoardLayout(rows, cols, WIDTH, HEIGHT);
+                float size = layout.getTileSize();
+                float gap = layout.getPitch() - size;
+                // The longer side spans the same 900 units as 4x4, centered in the world
+                assertEquals(900, Math.max(rows, cols) * layout.getPitch(), 1e-3f, rows + "x" + cols);
+                assertEquals(WIDTH / 2, layout.getBoardX() + cols * layout.getPitch() / 2, 1e-3f, rows + "x" + cols);
+                assertEquals(HEIGHT / 2, layout.getBoardY() + rows * layout.getPitch() / 2, 1e-3f, rows + "x" + cols);
+
+                for (int row = 0; row < rows; row++) {
+                    for (int col = 0; col < cols; col++) {
+                        String where = rows + "x" + cols + " row " + row + " col " + col;
+                        int cell = row * cols + col;
+                        float x = layout.slotX(col);
+                        float y = layout.slotY(row);
+                        assertEquals(cell, layout.cellAt(x + size / 2, y + size / 2), where);
+                        assertEquals(cell, layout.cellAt(x + 0.5f, y + 0.5f), where);
+                        assertEquals(cell, layout.cellAt(x + size - 0.5f, y + size - 0.5f), where);
+                        assertEquals(-1, layout.cellAt(x + size + gap / 2, y + size / 2), where);
+                        assertEquals(-1, layout.cellAt(x + size / 2, y + size + gap / 2), where);
+                    }
+                }
+                // Just outside each side of the board
+                float right = layout.slotX(cols);
+                float top = layout.slotY(rows);
+                float middleY = layout.slotY(rows / 2) + size / 2;
+                float middleX = layout.slotX(cols / 2) + size / 2;
+                assertEquals(-1, layout.cellAt(layout.getBoardX() - 0.5f, middleY), rows + "x" + cols);
+                assertEquals(-1, layout.cellAt(right + 0.5f, middleY), rows + "x" + cols);
+                assertEquals(-1, layout.cellAt(middleX, layout.getBoardY() - 0.5f), rows + "x" + cols);
+                assertEquals(-1, layout.cellAt(middleX, top + 0.5f), rows + "x" + cols);
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.avx20.M4TCH;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoardTest {
+    private static final int CELLS = GameModel.MAX_SIZE * GameModel.MAX_SIZE;
+
+    // A different nibble per cell that uses all sixteen values, so a shift that is off by a bit or a word shows
+    private static int pattern(int cell) {
+        return (cell * 7 + 3) & 15;
+    }
+
+    @Test
+    void codeKeepsTierAndColor() {
+        for (int tier = 1; tier <= GameModel.STAR; tier++) {
+            for (int color = 0; color < GameModel.COLOR_COUNT; color++) {
+                int code = Board.code(tier, color);
+                assertTrue(code > 0 && code < 16, "code " + code);
+                assertEquals(tier, Board.tier(code));
+                assertEquals(color, Board.color(code));
+            }
+        }
+        assertEquals(0, Board.tier(0));
+        assertEquals(0, Board.color(0));
+    }
+
+    @Test
+    void createSizesToWholeLongs() {
+        assertEquals(1, Board.create(GameModel.DEFAULT_ROWS * GameModel.DEFAULT_COLS).length);
+        assertEquals(2, Board.create(17).length);
+        assertEquals(4, Board.create(CELLS).length);
+        assertThrows(IllegalArgumentException.class, () -> Board.create(0));
+        assertThrows(IllegalArgumentException.class, () -> Board.create(Board.MAX_CELLS + 1));
+    }
+
+    @Test
+    void everyCellOfAnEightByEightBoardIsIndependent() {
+        long[] board = Board.create(CELLS);
+        for (int i = 0; i < CELLS; i++) {
+            Board.set(board, i, pattern(i));
+        }
+        for (int i = 0; i < CELLS; i++) {
+            assertEquals(pattern(i), Board.cell(board, i), "cell " + i);
+        }
+
+        // Filling then clearing one cell leaves its neighbours alone, including across the 4-bit and long boundaries
+        for (int i = 0; i < CELLS; i++) {
+            Board.set(board, i, 15);
+            assertEquals(15, Board.cell(board, i), "cell " + i);
+            Board.set(board, i, 0);
+            assertEquals(0, Board.cell(board, i), "cell " + i);
+            for (int j = 0; j < CELLS; j++) {
+                if (j != i) {
+                    assertEquals(pattern(j), Board.cell(board, j), "cell " + j + " after setting " + i);
+                }
+            }
+            Board.set(board, i, pattern(i));
+        }
+    }
+
+    @Test
+    void lastCellUsesTheTopNibble() {
+        long[] board = Board.create(CELLS);
+        Board.set(board, CELLS - 1, 15);
+        assertEquals(0xF000_0000_0000_0000L, board[3]);
+        assertEquals(15, Board.cell(board, CELLS - 1));
+        Board.set(board, 15, 8);
+        assertEquals(0x8000_0000_0000_0000L, board[0]);
+        assertEquals(0, Board.cell(board, 16));
+    }
+
+    @Test
+    void matchesComparesTierAndColor() {
+        long[] board = Board.create(CELLS);
+        int red = Board.code(2, GameModel.RED);
+        // Cells 15 and 16 sit in different longs
+        Board.set(board, 15, red);
+        Board.set(board, 16, red);
+        Board.set(board, 63, Board.code(2, GameModel.GREEN));
+        Board.set(board, 0, Board.code(1, GameModel.RED));
+        assertTrue(Board.matches(board, 15, 16));
+        assertFalse(Board.matches(board, 16, 63));
+        assertFalse(Board.matches(board, 0, 15));
+        assertTrue(Board.matches(board, 1, 62)); // Both empty
+    }
+
+    @Test
+    void flagMasksCoverEveryCell() {
+        for (int i = 0; i < Board.MAX_CELLS; i++) {
+            long flags = Board.set(0L, i, true);
+            assertEquals(1, Long.bitCount(flags), "cell " + i);
+            assertEquals(flags, Board.set(flags, i, true), "setting twice, cell " + i);
+            for (int j = 0; j < Board.MAX_CELLS; j++) {
+                assertEquals(i == j, Board.isSet(flags, j), "cell " + j + " with " + i + " set");
+            }
+            assertEquals(0L, Board.set(flags, i, false));
+
+            long cleared = Board.set(-1L, i, false);
+            assertEquals(Board.MAX_CELLS - 1, Long.bitCount(cleared), "cell " + i);
+            assertFalse(Board.isSet(cleared, i));
+        }
+        assertEquals(Long.MIN_VALUE, Board.set(0L, Board.MAX_CELLS - 1, true));
+        assertTrue(Board.isSet(Long.MIN_VALUE, Board.MAX_CELLS - 1));
+        assertFalse(Board.isSet(Long.MAX_VALUE, Board.MAX_CELLS - 1));
+    }
+}
@@ -0,0 +1,124 @@
+package io.github.avx20.M4TCH;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// A round must play out the same at any frame rate: RoundClock only ever advances the model in whole ticks and
+// applies a frame's touch at the tick it reached, so the same touches at the same ticks give the same game however
+// the ticks were spread over frames.
+class FrameRateTest {
+    private static final long SEED = 20240607L;
+    private static final int ROWS = 6;
+    private static final int COLS = 5;
+
+    // A touch every few ticks at a random cell, as (tick, cell) pairs; most are rejected, enough match to score
+    private static long[] script() {
+        Random random = new Random(1);
+        long[] script = new long[2 * 1200];
+        long tick = 0;
+        for (int i = 0; i < script.length; i += 2) {
+            tick += 1 + random.nextInt(5);
+            script[i] = tick;
+            script[i + 1] = random.nextInt(ROWS * COLS);
+        }
+        return script;
+    }
+
+    // A round played through RoundClock the way PlayScreen does, one delta per frame from the given source. A
+    // scripted touch comes with the first frame that ends at or after its tick, at most one per frame, the way a
+    // player's touches land on whatever frame is being rendered.
+    private static class Round {
+        final GameModel model = new GameModel(SEED, ROWS, COLS);
+        final ReplayRecorder recorder = new ReplayRecorder(SEED, ROWS, COLS);
+        final RoundClock clock = new RoundClock(model, recorder);
+        // Touches handed to the clock before the round ended, and those applied at exactly their scripted tick
+        int delivered = 0;
+        int onTime = 0;
+
+        Round(DeltaSource deltas) {
+            long[] script = script();
+            int next = 0;
+            double elapsed = 0;
+            while (!model.isOver()) {
+                float delta = Math.min(deltas.next(), RoundClock.MAX_FRAME_TIME);
+                elapsed += delta;
+                // The tick this frame will end on
+                long reached = model.getTicks() + (long) ((clock.getAccumulator() + delta) / GameModel.TICK + 1e-4);
+                int cell = -1;
+                if (next < script.length && script[next] <= reached) {
+                    cell = (int) script[next + 1];
+                }
+                clock.frame(delta, cell);
+                if (cell >= 0) {
+                    delivered++;
+                    onTime += script[next] == model.getTicks() ? 1 : 0;
+                    next += 2;
+                }
+
+                // Until the round ends, ticks follow the frame time so far, with less than a tick of it left over
+                if (!model.isOver()) {
+                    assertTrue(clock.getAccumulator() < GameModel.TICK, "accumulator " + clock.getAccumulator());
+                    assertEquals(elapsed, model.getTicks() * (double) GameModel.TICK + clock.getAccumulator(), 1e-3,
+                        "time simulated by tick " + model.getTicks());
+                }
+            }
+            recorder.end(model.getTicks(), model.getScore());
+        }
+    }
+
+    private interface DeltaSource {
+        float next();
+    }
+
+    private static void assertSameRound(GameModel expected, GameModel actual, String where) {
+        assertEquals(expected.getTicks(), actual.getTicks(), "ticks " + where);
+        assertEquals(expected.getScore(), actual.getScore(), "score " + where);
+        assertArrayEquals(expected.getBoard(), actual.getBoard(), "board " + where);
+        for (int row = 0; row < ROWS; row++) {
+            for (int col = 0; col < COLS; col++) {
+                assertEquals(expected.getStartTime(row, col), actual.getStartTime(row, col), "start time " + where);
+                assertEquals(expected.getSpeedMultiplier(row, col), actual.getSpeedMultiplier(row, col),
+                    "speed multiplier " + where);
+            }
+        }
+    }
+
+    @Test
+    void roundIsTheSameAtAnyFrameRate() throws IOException {
+        Round reference = new Round(() -> 1 / 60f);
+        assertTrue(reference.model.getScore() > 0, "scripted touches never scored");
+        assertEquals(reference.delivered, reference.onTime, "touches at 60 fps");
+
+        // At 120 and 240 fps a frame ends on every tick (halves and quarters of TICK add up exactly in floats), so
+        // every touch lands on its own tick as at 60 fps
+        Round[] fast = {new Round(() -> GameModel.TICK / 2), new Round(() -> GameModel.TICK / 4)};
+        for (Round round : fast) {
+            assertEquals(round.delivered, round.onTime, "touches on their tick");
+            assertSameRound(reference.model, round.model, "at a multiple of 60 fps");
+        }
+
+        // Other frame rates move some touches to the next frame's tick; the game they make is still the one the
+        // recorded ticks replay to
+        Random jitter = new Random(99);
+        Round[] rounds = {
+            reference,
+            fast[0],
+            fast[1],
+            new Round(() -> 1 / 144f),
+            new Round(() -> 1 / 30f),
+            // Anything from 2 ms to 50 ms, with the odd stall beyond MAX_FRAME_TIME
+            new Round(() -> jitter.nextInt(50) == 0 ? 0.4f : 0.002f + jitter.nextFloat() * 0.048f),
+        };
+        for (Round round : rounds) {
+            assertTrue(round.model.isOver(), "round never ended");
+            Replay replay = Replay.read(ReplayTest.write(round.recorder, false));
+            assertSameRound(round.model, replay.simulate(), "replayed");
+        }
+    }
+}
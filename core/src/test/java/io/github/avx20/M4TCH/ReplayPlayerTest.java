@@ -0,0 +1,142 @@
+package io.github.avx20.M4TCH;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplayPlayerTest {
+    private static final int SEEKS = 200;
+
+    // The model at every tick of the recording, stepped straight through from the start
+    private static List<GameModel> linearRun(Replay replay) {
+        ReplayPlayer player = new ReplayPlayer(replay);
+        List<GameModel> states = new ArrayList<>();
+        states.add(player.getModel().copy());
+        while (player.step()) {
+            states.add(player.getModel().copy());
+        }
+        return states;
+    }
+
+    private static void assertSameState(GameModel expected, GameModel actual, String where) {
+        assertEquals(expected.getTicks(), actual.getTicks(), "ticks " + where);
+        assertEquals(expected.getScore(), actual.getScore(), "score " + where);
+        assertEquals(expected.getTimeRemaining(), actual.getTimeRemaining(), "time left " + where);
+        assertEquals(expected.getSelectedCell(), actual.getSelectedCell(), "selected cell " + where);
+        assertEquals(expected.getComboMultiplier(), actual.getComboMultiplier(), "combo " + where);
+        assertArrayEquals(expected.getBoard(), actual.getBoard(), "board " + where);
+        for (int row = 0; row < expected.getRows(); row++) {
+            for (int col = 0; col < expected.getCols(); col++) {
+                String cell = "cell " + row + "," + col + " " + where;
+                assertEquals(expected.getNumber(row, col), actual.getNumber(row, col), cell);
+                assertEquals(expected.getColor(row, col), actual.getColor(row, col), cell);
+                assertEquals(expected.getStartTime(row, col), actual.getStartTime(row, col), cell);
+                assertEquals(expected.getStartScale(row, col), actual.getStartScale(row, col), cell);
+                assertEquals(expected.getSpeedMultiplier(row, col), actual.getSpeedMultiplier(row, col), cell);
+                assertEquals(expected.isVibrating(row, col), actual.isVibrating(row, col), cell);
+            }
+        }
+    }
+
+    @Test
+    void seekMatchesALinearRun() throws IOException {
+        Replay replay = Replay.read(ReplayTest.write(ReplayTest.record(42), true));
+        List<GameModel> states = linearRun(replay);
+        long end = replay.getEndTick();
+        assertEquals(end, states.size() - 1);
+        assertEquals(replay.getFinalScore(), states.get(states.size() - 1).getScore());
+
+        ReplayPlayer player = new ReplayPlayer(replay);
+        Random random = new Random(5);
+        for (int i = 0; i < SEEKS; i++) {
+            long target;
+            switch (i % 4) {
+                case 0: // Anywhere, including before the start and past the end
+                    target = random.nextInt((int) end + 200) - 100;
+                    break;
+                case 1: // On a keyframe or either side of one
+                    target = (long) random.nextInt((int) (end / ReplayPlayer.KEYFRAME_TICKS) + 1)
+                        * ReplayPlayer.KEYFRAME_TICKS + random.nextInt(3) - 1;
+                    break;
+                case 2: // A little back
+                    target = player.getTick() - random.nextInt(ReplayPlayer.KEYFRAME_TICKS * 2);
+                    break;
+                default: // A little forward
+                    target = player.getTick() + random.nextInt(ReplayPlayer.KEYFRAME_TICKS * 2);
+                    break;
+            }
+            player.seek(target);
+            long tick = Math.max(0, Math.min(target, end));
+            assertEquals(tick, player.getTick(), "seek to " + target);
+            assertSameState(states.get((int) tick), player.getModel(), "after seeking to " + target);
+
+            // Playing on from there keeps following the recording
+            for (int step = 0; step < 7 && player.step(); step++) {
+                assertSameState(states.get((int) player.getTick()), player.getModel(),
+                    "stepping on from " + target);
+            }
+        }
+    }
+
+    @Test
+    void seekKeepsTheListenerButTellsItNothing() throws IOException {
+        Replay replay = Replay.read(ReplayTest.write(ReplayTest.record(7), false));
+        ReplayPlayer player = new ReplayPlayer(replay);
+        int[] changes = new int[1];
+        GameModel.Listener listener = new GameModel.Listener() {
+            @Override
+            public void cellChanged(int row, int col) {
+                changes[0]++;
+            }
+
+            @Override
+            public void matched(int row, int col, int color) {}
+
+            @Override
+            public void starMatched(int row1, int col1, int row2, int col2, int color) {}
+
+            @Override
+            public void mismatched() {}
+
+            @Override
+            public void comboRaised(int level) {}
+        };
+        player.getModel().setListener(listener);
+
+        player.seek(replay.getEndTick() / 2);
+        assertEquals(0, changes[0]);
+        assertTrue(player.getModel().getListener() == listener);
+        player.seek(replay.getEndTick());
+        assertTrue(player.isFinished());
+        assertFalse(player.step());
+        assertEquals(0, changes[0]);
+    }
+
+    @Test
+    void endPastTheRoundStopsWhereTheModelDoes() throws IOException {
+        // The longest end tick a file may carry, on a round with no inputs that times out after a minute
+        ReplayRecorder recorder = new ReplayRecorder(3, 4, 4);
+        recorder.end(GameModel.MAX_ROUND_TICKS, 0);
+        Replay replay = Replay.read(ReplayTest.write(recorder, false));
+        List<GameModel> states = linearRun(replay);
+        long over = states.size() - 1;
+        assertTrue(over < replay.getEndTick() && states.get((int) over).isOver());
+
+        ReplayPlayer player = new ReplayPlayer(replay);
+        player.seek(replay.getEndTick());
+        assertEquals(over, player.getTick());
+        assertTrue(player.isFinished());
+        for (long tick : new long[] {over - 1, over - ReplayPlayer.KEYFRAME_TICKS, 1}) {
+            player.seek(tick);
+            assertSameState(states.get((int) tick), player.getModel(), "after seeking to " + tick);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package io.github.avx20.M4TCH;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplayTest {
+    private static final int SIZE = GameModel.MAX_SIZE;
+
+    static byte[] write(ReplayRecorder recorder, boolean compress) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        recorder.writeTo(out, compress);
+        return out.toByteArray();
+    }
+
+    // Plays a seeded 8x8 round the way PlayScreen does, tapping a random cell every few ticks and recording the
+    // taps the model accepts, with a pause and resume halfway through
+    static ReplayRecorder record(long seed) {
+        GameModel model = new GameModel(seed, SIZE, SIZE);
+        ReplayRecorder recorder = new ReplayRecorder(seed, SIZE, SIZE);
+        Random random = new Random(seed);
+        while (!model.isOver()) {
+            model.step();
+            if (model.getTicks() == 1800) {
+                recorder.pause(model.getTicks());
+                recorder.resume(model.getTicks());
+            }
+            if (random.nextInt(4) == 0) {
+                int cell = random.nextInt(SIZE * SIZE);
+                if (model.select(cell / SIZE, cell % SIZE)) {
+                    recorder.select(model.getTicks(), cell);
+                }
+            }
+        }
+        recorder.end(model.getTicks(), model.getScore());
+        return recorder;
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void eventsRoundTrip(boolean compress) throws IOException {
+        for (long seed : new long[] {0, 1, -1, -4_123_456_789_012_345_678L, Long.MIN_VALUE, Long.MAX_VALUE}) {
+            ReplayRecorder recorder = new ReplayRecorder(seed, SIZE, SIZE - 1);
+            recorder.select(0, 0);
+            recorder.select(0, SIZE * (SIZE - 1) - 1);
+            recorder.pause(17);
+            recorder.resume(17);
+            recorder.pause(200);
+            recorder.resume(1_000);
+            recorder.select(3_000, 9);
+            recorder.end(3_003, 123_456);
+
+            Replay replay = Replay.read(write(recorder, compress));
+            assertEquals(SIZE, replay.getRows());
+            assertEquals(SIZE - 1, replay.getCols());
+            assertEquals(seed, replay.getSeed());
+            assertEquals(7, replay.getEventCount());
+            long[] ticks = {0, 0, 17, 17, 200, 1_000, 3_000};
+            int[] types = {Replay.SELECT, Replay.SELECT, Replay.PAUSE, Replay.RESUME, Replay.PAUSE, Replay.RESUME,
+                Replay.SELECT};
+            for (int i = 0; i < ticks.length; i++) {
+                assertEquals(ticks[i], replay.getTick(i), "tick of event " + i);
+                assertEquals(types[i], replay.getType(i), "type of event " + i);
+            }
+            assertEquals(0, replay.getCell(0));
+            assertEquals(SIZE * (SIZE - 1) - 1, replay.getCell(1));
+            assertEquals(9, replay.getCell(6));
+            assertEquals(3_003, replay.getEndTick());
+            assertEquals(123_456, replay.getFinalScore());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void recordedRoundPlaysBackToItsScore(boolean compress) throws IOException {
+        for (long seed : new long[] {42, -7_777_777_777_777L, Long.MIN_VALUE}) {
+            ReplayRecorder recorder = record(seed);
+            Replay replay = Replay.read(write(recorder, compress));
+            assertTrue(replay.getFinalScore() > 0, "recorded round never scored");
+
+            GameModel model = replay.simulate();
+            assertEquals(replay.getFinalScore(), model.getScore(), "score, seed " + seed);
+            assertEquals(replay.getEndTick(), model.getTicks(), "ticks, seed " + seed);
+        }
+    }
+
+    @Test
+    void compressionShrinksARound() throws IOException {
+        ReplayRecorder recorder = record(42);
+        assertTrue(write(recorder, true).length < write(recorder, false).length);
+    }
+
+    @Test
+    void endIsWrittenOnce() throws IOException {
+        ReplayRecorder recorder = new ReplayRecorder(5, SIZE, SIZE);
+        recorder.end(10, 300);
+        recorder.end(20, 400);
+        recorder.select(30, 1);
+        Replay replay = Replay.read(write(recorder, false));
+        assertEquals(0, replay.getEventCount());
+        assertEquals(10, replay.getEndTick());
+        assertEquals(300, replay.getFinalScore());
+    }
+
+    @Test
+    void truncatedReplaysAreRejected() throws IOException {
+        byte[] plain = write(record(42), false);
+        for (int length = 0; length < plain.length; length++) {
+            byte[] truncated = Arrays.copyOf(plain, length);
+            assertThrows(IOException.class, () -> Replay.read(truncated), "first " + length + " bytes");
+        }
+
+        // The deflate stream ends with a checksum the reader doesn't need, so cut into the data itself
+        byte[] deflated = write(record(42), true);
+        for (int length = 0; length < deflated.length - 8; length++) {
+            byte[] truncated = Arrays.copyOf(deflated, length);
+            assertThrows(IOException.class, () -> Replay.read(truncated), "first " + length + " deflated bytes");
+        }
+    }
+
+    @Test
+    void otherFilesAreRejected() throws IOException {
+        byte[] bytes = write(record(42), false);
+        assertThrows(IOException.class, () -> Replay.read(new byte[0]));
+
+        byte[] badMagic = bytes.clone();
+        badMagic[1] = 'X';
+        assertThrows(IOException.class, () -> Replay.read(badMagic));
+
+        byte[] badVersion = bytes.clone();
+        badVersion[Replay.MAGIC.length] = Replay.VERSION + 1;
+        assertThrows(IOException.class, () -> Replay.read(badVersion));
+
+        byte[] png = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+        assertThrows(IOException.class, () -> Replay.read(png));
+
+        // Claims to be deflated but isn't
+        byte[] notDeflated = bytes.clone();
+        notDeflated[Replay.MAGIC.length + 1] = Replay.FLAG_DEFLATE;
+        assertThrows(IOException.class, () -> Replay.read(notDeflated));
+    }
+
+    // An uncompressed replay of the given varints
+    private static byte[] raw(long... varints) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(Replay.MAGIC, 0, Replay.MAGIC.length);
+        out.write(Replay.VERSION);
+        out.write(0);
+        for (long value : varints) {
+            for (; (value & ~0x7FL) != 0; value >>>= 7) {
+                out.write((int) value & 0x7F | 0x80);
+            }
+            out.write((int) value);
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    void largeVarintsAreRejected() throws IOException {
+        // The widest varint there is still reads, e.g. for a seed
+        assertEquals(Long.MIN_VALUE, Replay.read(raw(4, 4, Long.MIN_VALUE, 0, Replay.END, 0)).getSeed());
+
+        // Past 64 bits: ten continuation bytes in a row
+        byte[] header = raw(4, 4);
+        byte[] longSeed = Arrays.copyOf(header, header.length + 11);
+        Arrays.fill(longSeed, header.length, longSeed.length - 1, (byte) 0xFF);
+        longSeed[longSeed.length - 1] = 1;
+        assertThrows(IOException.class, () -> Replay.read(longSeed));
+
+        // Tick deltas that take the tick past Long.MAX_VALUE
+        assertThrows(IOException.class, () -> Replay.read(raw(4, 4, 7, Long.MAX_VALUE, Replay.PAUSE, Long.MAX_VALUE,
+            Replay.RESUME, 0, Replay.END, 0)));
+        assertThrows(IOException.class, () -> Replay.read(raw(4, 4, 7, 5, Replay.PAUSE, -1, Replay.END, 0)));
+
+        // Rows, cols, cells and scores far past their range
+        assertThrows(IOException.class, () -> Replay.read(raw(1L << 32 | 4, 4, 7, 0, Replay.END, 0)));
+        assertThrows(IOException.class, () -> Replay.read(raw(4, 4, 7, 5, 1L << 40 | Replay.SELECT, 0, Replay.END, 0)));
+        assertThrows(IOException.class, () -> Replay.read(raw(4, 4, 7, 0, Replay.END, 1L << 40)));
+    }
+
+    @Test
+    void damagedReplaysAreRejected() throws IOException {
+        int select = 9 << Replay.TYPE_BITS | Replay.SELECT;
+        assertEquals(1, Replay.read(raw(4, 4, 7, 5, select, 3, Replay.END, 100)).getEventCount());
+
+        // Board sizes GameModel can't build
+        assertThrows(IOException.class, () -> Replay.read(raw(GameModel.MIN_SIZE - 1, 4, 7, 0, Replay.END, 0)));
+        assertThrows(IOException.class, () -> Replay.read(raw(4, GameModel.MAX_SIZE + 1, 7, 0, Replay.END, 0)));
+        assertThrows(IOException.class, () -> Replay.read(write(new ReplayRecorder(7, 100, 100), false)));
+
+        // A selection outside the board
+        assertThrows(IOException.class, () -> Replay.read(raw(4, 4, 7, 5, 16 << Replay.TYPE_BITS, 3, Replay.END, 0)));
+        ReplayRecorder outside = new ReplayRecorder(7, SIZE, SIZE);
+        outside.select(5, SIZE * SIZE);
+        outside.end(10, 0);
+        assertThrows(IOException.class, () -> Replay.read(write(outside, true)));
+
+        // Pause, resume and end carry no cell
+        assertThrows(IOException.class, () -> Replay.read(raw(4, 4, 7, 5, 1 << Replay.TYPE_BITS | Replay.PAUSE,
+            3, Replay.END, 0)));
+        assertThrows(IOException.class, () -> Replay.read(raw(4, 4, 7, 5, 1 << Replay.TYPE_BITS | Replay.END, 0)));
+
+        // A tick before the one already reached
+        ReplayRecorder backwards = new ReplayRecorder(7, SIZE, SIZE);
+        backwards.select(100, 1);
+        backwards.select(50, 2);
+        backwards.end(200, 0);
+        assertThrows(IOException.class, () -> Replay.read(write(backwards, false)));
+
+        // Ticks no round could reach, which ReplayPlayer would otherwise run to
+        Replay.read(raw(4, 4, 7, GameModel.MAX_ROUND_TICKS, Replay.END, 0));
+        assertThrows(IOException.class, () -> Replay.read(raw(4, 4, 7, GameModel.MAX_ROUND_TICKS + 1, Replay.END, 0)));
+        assertThrows(IOException.class, () -> Replay.read(raw(4, 4, 7, 1L << 40, Replay.END, 0)));
+        assertThrows(IOException.class, () -> Replay.read(raw(4, 4, 7, 3_000_000_000L * 60, Replay.END, 0)));
+        assertThrows(IOException.class, () -> Replay.read(raw(4, 4, 7, 5, select, GameModel.MAX_ROUND_TICKS,
+            Replay.END, 0)));
+
+        // A score that doesn't fit an int
+        ReplayRecorder overflow = new ReplayRecorder(7, SIZE, SIZE);
+        overflow.end(10, 1);
+        byte[] bytes = write(overflow, false);
+        byte[] bigScore = Arrays.copyOf(bytes, bytes.length + 4);
+        bigScore[bytes.length - 1] = (byte) 0x81;
+        Arrays.fill(bigScore, bytes.length, bigScore.length - 1, (byte) 0xFF);
+        bigScore[bigScore.length - 1] = 0x0F;
+        assertThrows(IOException.class, () -> Replay.read(bigScore));
+    }
+}
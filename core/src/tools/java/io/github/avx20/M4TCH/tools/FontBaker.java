@@ -0,0 +1,186 @@
+package io.github.avx20.M4TCH.tools;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.PixmapIO;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeType;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.tools.distancefield.DistanceFieldGenerator;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.nio.ByteBuffer;
+
+// Run by :core:bakeFonts. Turns font.ttf into a single distance-field font: every glyph is rendered with
+// FreeType at <downscale> times the target size, converted to a signed distance field and packed at the
+// target size. FontService draws it at any size with the distance-field shader, so one small atlas stays
+// sharp at every scale. Glyphs are baked in white and tinted per color at draw time.
+public class FontBaker {
+    private static final int PAGE_WIDTH = 1024;
+    private static final int PAGE_HEIGHT = 512;
+
+    public static void main(String[] args) {
+        if (args.length != 6) {
+            System.err.println("Usage: FontBaker <font.ttf> <output dir> <name> <size> <spread> <downscale>");
+            System.exit(1);
+        }
+        GdxNativesLoader.load();
+
+        FileHandle fontFile = new FileHandle(new File(args[0]));
+        FileHandle outputDir = new FileHandle(new File(args[1]));
+        String name = args[2];
+        int size = Integer.parseInt(args[3]);
+        int spread = Integer.parseInt(args[4]);
+        int downscale = Integer.parseInt(args[5]);
+
+        outputDir.mkdirs();
+        new FontBaker(size, spread, downscale).bake(fontFile, outputDir, name);
+    }
+
+    private final int size;
+    private final int spread; // In pixels of the baked atlas
+    private final int downscale;
+    private final DistanceFieldGenerator generator = new DistanceFieldGenerator();
+
+    private FontBaker(int size, int spread, int downscale) {
+        this.size = size;
+        this.spread = spread;
+        this.downscale = downscale;
+        generator.setColor(java.awt.Color.WHITE);
+        generator.setDownscale(downscale);
+        generator.setSpread(spread * downscale);
+    }
+
+    private void bake(FileHandle fontFile, FileHandle outputDir, String name) {
+        String characters = FreeTypeFontGenerator.DEFAULT_CHARS;
+        FreeType.Library library = FreeType.initFreeType();
+        FreeType.Face face = library.newFace(fontFile, 0);
+        PixmapPacker packer = new PixmapPacker(PAGE_WIDTH, PAGE_HEIGHT, Pixmap.Format.RGBA8888, 2, false,
+            new PixmapPacker.SkylineStrategy());
+        try {
+            if (!face.setPixelSizes(0, size * downscale)) {
+                throw new IllegalStateException("Couldn't set size " + size * downscale + " on " + fontFile);
+            }
+            FreeType.SizeMetrics metrics = face.getSize().getMetrics();
+            int base = Math.round(FreeType.toInt(metrics.getAscender()) / (float) downscale);
+            int lineHeight = Math.round(FreeType.toInt(metrics.getHeight()) / (float) downscale);
+
+            StringBuilder chars = new StringBuilder();
+            int charCount = 0;
+            for (int i = 0; i < characters.length(); i++) {
+                char c = characters.charAt(i);
+                if (face.getCharIndex(c) == 0 && c != ' ') {
+                    continue; // Not in this typeface
+                }
+                if (!face.loadChar(c, FreeType.FT_LOAD_DEFAULT)) {
+                    continue;
+                }
+                FreeType.GlyphSlot slot = face.getGlyph();
+                int xadvance = Math.round(FreeType.toInt(slot.getMetrics().getHoriAdvance()) / (float) downscale);
+                if (!slot.renderGlyph(FreeType.FT_RENDER_MODE_NORMAL) || slot.getBitmap().getWidth() == 0) {
+                    chars.append(charLine(c, 0, 0, 0, 0, 0, 0, xadvance, 0));
+                    charCount++;
+                    continue;
+                }
+
+                FreeType.Bitmap bitmap = slot.getBitmap();
+                int left = slot.getBitmapLeft();
+                int top = slot.getBitmapTop();
+                // Glyph bounds in atlas pixels, widened by the spread so the field can fall off around the edges
+                int outLeft = Math.floorDiv(left, downscale) - spread;
+                int outRight = -Math.floorDiv(-(left + bitmap.getWidth()), downscale) + spread;
+                int outTop = -Math.floorDiv(-top, downscale) + spread;
+                int outBottom = Math.floorDiv(top - bitmap.getRows(), downscale) - spread;
+
+                Pixmap field = distanceField(bitmap, left - outLeft * downscale, outTop * downscale - top,
+                    outRight - outLeft, outTop - outBottom);
+                Rectangle rect = packer.pack(String.valueOf((int) c), field);
+                int page = packer.getPageIndex(String.valueOf((int) c));
+                field.dispose();
+
+                chars.append(charLine(c, (int) rect.x, (int) rect.y, (int) rect.width, (int) rect.height,
+                    outLeft, base - outTop, xadvance, page));
+                charCount++;
+            }
+
+            StringBuilder kernings = new StringBuilder();
+            int kerningCount = 0;
+            if (face.hasKerning()) {
+                for (int i = 0; i < characters.length(); i++) {
+                    int first = face.getCharIndex(characters.charAt(i));
+                    if (first == 0) continue;
+                    for (int j = 0; j < characters.length(); j++) {
+                        int second = face.getCharIndex(characters.charAt(j));
+                        if (second == 0) continue;
+                        int amount = Math.round(FreeType.toInt(face.getKerning(first, second, FreeType.FT_KERNING_DEFAULT))
+                            / (float) downscale);
+                        if (amount != 0) {
+                            kernings.append("kerning first=").append((int) characters.charAt(i))
+                                .append(" second=").append((int) characters.charAt(j))
+                                .append(" amount=").append(amount).append('\n');
+                            kerningCount++;
+                        }
+                    }
+                }
+            }
+
+            int pageCount = packer.getPages().size;
+            StringBuilder fnt = new StringBuilder();
+            // The padding tells BitmapFont that every glyph image carries <spread> extra pixels on each side
+            fnt.append("info face=\"").append(name).append("\" size=").append(size)
+                .append(" bold=0 italic=0 charset=\"\" unicode=1 stretchH=100 smooth=1 aa=1 padding=")
+                .append(spread).append(',').append(spread).append(',').append(spread).append(',').append(spread)
+                .append(" spacing=0,0\n");
+            fnt.append("common lineHeight=").append(lineHeight).append(" base=").append(base)
+                .append(" scaleW=").append(PAGE_WIDTH).append(" scaleH=").append(PAGE_HEIGHT)
+                .append(" pages=").append(pageCount).append(" packed=0\n");
+            for (int i = 0; i < pageCount; i++) {
+                String pageFile = pageCount == 1 ? name + ".png" : name + "_" + i + ".png";
+                PixmapIO.writePNG(outputDir.child(pageFile), packer.getPages().get(i).getPixmap());
+                fnt.append("page id=").append(i).append(" file=\"").append(pageFile).append("\"\n");
+            }
+            fnt.append("chars count=").append(charCount).append('\n').append(chars);
+            fnt.append("kernings count=").append(kerningCount).append('\n').append(kernings);
+            outputDir.child(name + ".fnt").writeString(fnt.toString(), false, "UTF-8");
+
+            System.out.println("Baked " + name + ": " + charCount + " glyphs at " + size + "px, spread " + spread
+                + ", " + pageCount + " page(s)");
+        } finally {
+            packer.dispose();
+            face.dispose();
+            library.dispose();
+        }
+    }
+
+    // Renders the coverage bitmap into a <downscale> times larger canvas and reduces it to a distance field
+    private Pixmap distanceField(FreeType.Bitmap bitmap, int offsetX, int offsetY, int width, int height) {
+        BufferedImage canvas = new BufferedImage(width * downscale, height * downscale, BufferedImage.TYPE_INT_ARGB);
+        ByteBuffer buffer = bitmap.getBuffer();
+        for (int y = 0; y < bitmap.getRows(); y++) {
+            for (int x = 0; x < bitmap.getWidth(); x++) {
+                int coverage = buffer.get(y * bitmap.getPitch() + x) & 0xff;
+                canvas.setRGB(offsetX + x, offsetY + y, coverage << 24 | 0xffffff);
+            }
+        }
+
+        BufferedImage field = generator.generateDistanceField(canvas);
+        Pixmap pixmap = new Pixmap(field.getWidth(), field.getHeight(), Pixmap.Format.RGBA8888);
+        for (int y = 0; y < field.getHeight(); y++) {
+            for (int x = 0; x < field.getWidth(); x++) {
+                int argb = field.getRGB(x, y);
+                pixmap.drawPixel(x, y, argb << 8 | argb >>> 24);
+            }
+        }
+        return pixmap;
+    }
+
+    private static String charLine(char c, int x, int y, int width, int height, int xoffset, int yoffset,
+                                   int xadvance, int page) {
+        return "char id=" + (int) c + " x=" + x + " y=" + y + " width=" + width + " height=" + height
+            + " xoffset=" + xoffset + " yoffset=" + yoffset + " xadvance=" + xadvance + " page=" + page
+            + " chnl=0\n";
+    }
+}
@@ -0,0 +1,120 @@
+package io.github.avx20.M4TCH.tools;
+
+import io.github.avx20.M4TCH.GameModel;
+import io.github.avx20.M4TCH.Replay;
+import io.github.avx20.M4TCH.ReplayPlayer;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+// Run by :core:replay. Plays recorded rounds without a window or GL and checks that every one still reaches the
+// score it was recorded with, so a change to the scoring or power-up rules that alters the outcome of a real
+// session shows up as a failure. At 1x and 8x the ticks are paced to the wall clock like ReplayScreen does;
+// "max" runs flat out and is what regression runs use. --seek reports the state at a point of each round and
+// how long getting there took.
+// Exit status: 0 if every replay matched, 1 on a mismatch, 2 on bad arguments or unreadable files.
+public class ReplayRunner {
+    public static void main(String[] args) {
+        float speed = 0; // 0 = unthrottled
+        float seekSeconds = -1;
+        int first = 0;
+        try {
+            while (first < args.length && args[first].startsWith("--")) {
+                if (args[first].equals("--speed") && first + 1 < args.length) {
+                    String value = args[first + 1];
+                    speed = value.equals("max") ? 0 : Float.parseFloat(value);
+                } else if (args[first].equals("--seek") && first + 1 < args.length) {
+                    seekSeconds = Float.parseFloat(args[first + 1]);
+                } else {
+                    usage();
+                }
+                first += 2;
+            }
+        } catch (NumberFormatException e) {
+            usage();
+        }
+        if (first == args.length || speed < 0) {
+            usage();
+        }
+
+        int failures = 0;
+        for (int i = first; i < args.length; i++) {
+            try {
+                if (!run(new File(args[i]), speed, seekSeconds)) {
+                    failures++;
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println(args[i] + ": " + e.getMessage());
+                System.exit(2);
+            }
+        }
+        System.out.println((args.length - first - failures) + " of " + (args.length - first) + " replays matched");
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    private static void usage() {
+        System.err.println("Usage: ReplayRunner [--speed 1|8|max] [--seek <seconds>] <replay.m4r>...");
+        System.exit(2);
+    }
+
+    private static boolean run(File file, float speed, float seekSeconds) throws IOException {
+        Replay replay;
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            replay = Replay.read(in);
+        }
+
+        long start = System.nanoTime();
+        ReplayPlayer player = new ReplayPlayer(replay);
+        long keyframeNanos = System.nanoTime() - start;
+
+        if (seekSeconds >= 0) {
+            start = System.nanoTime();
+            player.seek((long) (seekSeconds * GameModel.TICKS_PER_SECOND));
+            long seekNanos = System.nanoTime() - start;
+            System.out.println(file.getName() + ": at " + seekSeconds + " s (found in "
+                + String.format("%.3f", seekNanos / 1e6) + " ms) " + describe(player.getModel()));
+            player.seek(0);
+        }
+
+        // Paced runs sleep until each tick is due; unthrottled ones never wait
+        long tickNanos = speed > 0 ? (long) (1e9 / (GameModel.TICKS_PER_SECOND * speed)) : 0;
+        start = System.nanoTime();
+        long ticks = 0;
+        while (player.step()) {
+            ticks++;
+            if (tickNanos > 0) {
+                long wait = start + ticks * tickNanos - System.nanoTime();
+                if (wait > 0) {
+                    try {
+                        Thread.sleep(wait / 1_000_000, (int) (wait % 1_000_000));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return false;
+                    }
+                }
+            }
+        }
+        long playNanos = System.nanoTime() - start;
+
+        GameModel model = player.getModel();
+        boolean matched = model.getScore() == replay.getFinalScore() && model.getTicks() == replay.getEndTick();
+        System.out.println(file.getName() + ": " + (matched ? "ok" : "MISMATCH") + " score " + model.getScore()
+            + " (recorded " + replay.getFinalScore() + "), " + model.getTicks() + " ticks (recorded "
+            + replay.getEndTick() + "), " + replay.getRows() + "x" + replay.getCols() + ", seed " + replay.getSeed()
+            + ", keyframes in " + String.format("%.1f", keyframeNanos / 1e6) + " ms, played in "
+            + String.format("%.1f", playNanos / 1e6) + " ms");
+        return matched;
+    }
+
+    private static String describe(GameModel model) {
+        return "tick " + model.getTicks() + ", score " + model.getScore() + ", time left "
+            + String.format("%.2f", model.getTimeRemaining())
+            + (model.isFreezeTimeActive() ? ", freeze " + String.format("%.2f", model.getFreezeTimeRemaining()) : "")
+            + (model.isComboMultiplierActive() ? ", multiplier " + String.format("%.2f", model.getComboMultiplierRemaining()) : "")
+            + (model.isInstantTilesActive() ? ", instant " + String.format("%.2f", model.getInstantTilesRemaining()) : "")
+            + (model.getComboMultiplier() > 1 ? ", combo x" + model.getComboMultiplier() : "");
+    }
+}
@@ -13,6 +13,7 @@ public class Lwjgl3Launcher {
         Lwjgl3ApplicationConfiguration config = new Lwjgl3ApplicationConfiguration();
         config.setTitle("M4TCH");
         config.setWindowedMode(800, 600);
+        // Cap for screens that render continuously; menus (M4TCH.StaticScreen) only draw when asked to
         config.setForegroundFPS(60);
         return config;
     }